@@ -0,0 +1,74 @@
+package com.langheng.modules.join.benchmark;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.MybatisSqlSessionFactoryBuilder;
+import com.langheng.modules.join.benchmark.mapper.ClassInfoMapper;
+import com.langheng.modules.join.benchmark.mapper.StudentMapper;
+import com.langheng.modules.join.benchmark.mapper.TeacherMapper;
+import com.langheng.modules.join.benchmark.mapper.UserClassMapper;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/18 3:10 下午
+ * @description 基准测试内存数据库（H2），初始化表结构和数据，启动mybatis-plus
+ * <p>数据：每个学生选一门课，每50个学生一个班级，每20个班级一个教师</p>
+ */
+public final class BenchmarkDatabase {
+
+    private static final String[] SCHEMA = {
+            "DROP ALL OBJECTS",
+            "CREATE TABLE student (student_id BIGINT PRIMARY KEY, name VARCHAR(64), age INT, deleted INT DEFAULT 0)",
+            "CREATE TABLE user_class (user_class_id BIGINT PRIMARY KEY, student_id BIGINT, class_info_id BIGINT, deleted INT DEFAULT 0)",
+            "CREATE TABLE class_info (class_info_id BIGINT PRIMARY KEY, class_name VARCHAR(64), teacher_id BIGINT)",
+            "CREATE TABLE teacher (teacher_id BIGINT PRIMARY KEY, teacher_name VARCHAR(64))",
+            "CREATE INDEX idx_user_class_student ON user_class (student_id)"
+    };
+
+    private BenchmarkDatabase() {
+    }
+
+    /**
+     * 初始化数据库并启动mybatis-plus
+     *
+     * @param rows         学生数量
+     * @param interceptors 注册的mybatis插件
+     * @return SqlSessionFactory
+     */
+    public static SqlSessionFactory start(long rows, Interceptor... interceptors) throws SQLException {
+        PooledDataSource dataSource = new PooledDataSource("org.h2.Driver",
+                "jdbc:h2:mem:join_benchmark;DB_CLOSE_DELAY=-1", "sa", "");
+        long classes = rows / 50 + 1;
+        long teachers = classes / 20 + 1;
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String sql : SCHEMA) {
+                statement.execute(sql);
+            }
+            statement.execute("INSERT INTO student SELECT X, CONCAT('student', X), MOD(X, 30) + 10, 0 FROM SYSTEM_RANGE(1, " + rows + ")");
+            statement.execute("INSERT INTO user_class SELECT X, X, MOD(X, " + classes + ") + 1, 0 FROM SYSTEM_RANGE(1, " + rows + ")");
+            statement.execute("INSERT INTO class_info SELECT X, CONCAT('class', X), MOD(X, " + teachers + ") + 1 FROM SYSTEM_RANGE(1, " + classes + ")");
+            statement.execute("INSERT INTO teacher SELECT X, CONCAT('teacher', X) FROM SYSTEM_RANGE(1, " + teachers + ")");
+        }
+
+        MybatisConfiguration configuration = new MybatisConfiguration();
+        configuration.setEnvironment(new Environment("benchmark", new JdbcTransactionFactory(), dataSource));
+        configuration.addMapper(StudentMapper.class);
+        configuration.addMapper(UserClassMapper.class);
+        configuration.addMapper(ClassInfoMapper.class);
+        configuration.addMapper(TeacherMapper.class);
+        for (Interceptor interceptor : interceptors) {
+            configuration.addInterceptor(interceptor);
+        }
+        return new MybatisSqlSessionFactoryBuilder().build(configuration);
+    }
+}
@@ -0,0 +1,55 @@
+package com.langheng.modules.join.benchmark;
+
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.langheng.modules.join.benchmark.entity.ClassInfo;
+import com.langheng.modules.join.benchmark.entity.Student;
+import com.langheng.modules.join.benchmark.entity.Teacher;
+import com.langheng.modules.join.benchmark.entity.UserClass;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/18 2:05 下午
+ * @description 基准测试表信息，在进程内注册实体类的TableInfo，不需要数据库
+ */
+public final class BenchmarkTables {
+
+    /**
+     * 连表类，超过数量时循环使用
+     */
+    public static final Class<?>[] JOIN_CLASSES = {UserClass.class, ClassInfo.class, Teacher.class};
+
+    private static final MybatisConfiguration CONFIGURATION = new MybatisConfiguration();
+
+    static {
+        register(Student.class);
+        register(UserClass.class);
+        register(ClassInfo.class);
+        register(Teacher.class);
+    }
+
+    private BenchmarkTables() {
+    }
+
+    /**
+     * 注册实体类的TableInfo
+     *
+     * @param clazz 实体类
+     */
+    private static void register(Class<?> clazz) {
+        MapperBuilderAssistant assistant = new MapperBuilderAssistant(CONFIGURATION, "");
+        assistant.setCurrentNamespace(clazz.getName() + "Mapper");
+        TableInfoHelper.initTableInfo(assistant, clazz);
+    }
+
+    /**
+     * 获取注册表信息的配置，调用即完成注册
+     *
+     * @return mybatis配置
+     */
+    public static MybatisConfiguration configuration() {
+        return CONFIGURATION;
+    }
+}
@@ -0,0 +1,54 @@
+package com.langheng.modules.join.benchmark;
+
+import com.langheng.modules.join.benchmark.entity.ClassInfo;
+import com.langheng.modules.join.benchmark.entity.Student;
+import com.langheng.modules.join.benchmark.entity.StudentVo;
+import com.langheng.modules.join.benchmark.entity.Teacher;
+import com.langheng.modules.join.benchmark.entity.UserClass;
+import com.langheng.modules.join.wrapper.LambdaJoinWrapper;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/18 2:05 下午
+ * @description 基准测试使用的wrapper
+ */
+public final class BenchmarkWrappers {
+
+    private BenchmarkWrappers() {
+    }
+
+    /**
+     * 学生表dto查询wrapper
+     *
+     * @return wrapper
+     */
+    public static LambdaJoinWrapper<Student> newWrapper() {
+        return new LambdaJoinWrapper<>(Student.class, StudentVo.class);
+    }
+
+    /**
+     * 按 学生 -> 选课 -> 班级 -> 教师 的顺序循环连表
+     *
+     * @param wrapper 学生表wrapper
+     * @param joins   连表数量
+     * @return wrapper
+     */
+    public static LambdaJoinWrapper<Student> join(LambdaJoinWrapper<Student> wrapper, int joins) {
+        for (int i = 0; i < joins; i++) {
+            switch (i % 3) {
+                case 0:
+                    wrapper.leftJoin(UserClass.class, Student::getStudentId, UserClass::getStudentId);
+                    break;
+                case 1:
+                    wrapper.joinTo(UserClass.class)
+                            .leftJoin(ClassInfo.class, UserClass::getClassInfoId, ClassInfo::getClassInfoId);
+                    break;
+                default:
+                    wrapper.joinTo(ClassInfo.class)
+                            .leftJoin(Teacher.class, ClassInfo::getTeacherId, Teacher::getTeacherId);
+                    break;
+            }
+        }
+        return wrapper;
+    }
+}
@@ -0,0 +1,136 @@
+package com.langheng.modules.join.benchmark;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.langheng.modules.join.benchmark.entity.ClassInfo;
+import com.langheng.modules.join.benchmark.entity.Student;
+import com.langheng.modules.join.benchmark.entity.StudentVo;
+import com.langheng.modules.join.benchmark.entity.UserClass;
+import com.langheng.modules.join.benchmark.mapper.StudentMapper;
+import com.langheng.modules.join.wrapper.JoinWrapper;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/18 3:10 下午
+ * @description 内存数据库上的端到端连表查询基准测试（mapper + SELECT_TEMPLATE）
+ * <ul>
+ *     <li>SampleTime 方法输出延迟分位数（p50/p90/p99...）</li>
+ *     <li>Rows 方法通过 rows 计数器输出每毫秒返回行数（OutputTimeUnit 为毫秒）</li>
+ *     <li>每行分配字节数 = gc.alloc.rate.norm / 每次返回行数（范围查询为 {@link #RANGE_SIZE}）</li>
+ * </ul>
+ * 数据量通过 rows 参数调整（jmh 配置中 benchmarkParameters = [rows: ["10000000"]]）
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JoinQueryBenchmark {
+
+    /**
+     * 范围查询的学生数量
+     */
+    public static final int RANGE_SIZE = 1000;
+
+    /**
+     * 学生数量（10^5 - 10^7）
+     */
+    @Param({"100000"})
+    public long rows;
+
+    private SqlSessionFactory sqlSessionFactory;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        sqlSessionFactory = BenchmarkDatabase.start(rows);
+    }
+
+    /**
+     * 返回行数计数器
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class RowCounter {
+
+        public long rows;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    public List<StudentVo> lambdaPointLookup() {
+        long studentId = ThreadLocalRandom.current().nextLong(1, rows + 1);
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            return sqlSession.getMapper(StudentMapper.class).findVoList(
+                    BenchmarkWrappers.join(BenchmarkWrappers.newWrapper(), 3)
+                            .eq(Student::getStudentId, studentId));
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    public List<StudentVo> lambdaRangeScan() {
+        return this.lambdaRange();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    public List<StudentVo> joinWrapperRangeScan() {
+        return this.joinWrapperRange();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public List<StudentVo> lambdaRangeScanRows(RowCounter counter) {
+        List<StudentVo> list = this.lambdaRange();
+        counter.rows += list.size();
+        return list;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public List<StudentVo> joinWrapperRangeScanRows(RowCounter counter) {
+        List<StudentVo> list = this.joinWrapperRange();
+        counter.rows += list.size();
+        return list;
+    }
+
+    private List<StudentVo> lambdaRange() {
+        long start = ThreadLocalRandom.current().nextLong(1, Math.max(2, rows - RANGE_SIZE));
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            return sqlSession.getMapper(StudentMapper.class).findVoList(
+                    BenchmarkWrappers.join(BenchmarkWrappers.newWrapper(), 3)
+                            .between(Student::getStudentId, start, start + RANGE_SIZE - 1));
+        }
+    }
+
+    private List<StudentVo> joinWrapperRange() {
+        long start = ThreadLocalRandom.current().nextLong(1, Math.max(2, rows - RANGE_SIZE));
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            return sqlSession.getMapper(StudentMapper.class).findVoList(
+                    new JoinWrapper<>(Student.class, "s", StudentVo.class)
+                            .leftJoin("student_id", "student_id", UserClass.class, uc -> uc
+                                    .leftJoin("class_info_id", "class_info_id", ClassInfo.class, Function.identity()))
+                            .between("s.student_id", start, start + RANGE_SIZE - 1));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.langheng.modules.join.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.langheng.modules.join.benchmark.entity.Student;
+import com.langheng.modules.join.wrapper.LambdaJoinWrapper;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/18 2:05 下午
+ * @description 不同连表数量下的连表和sql生成基准测试
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JoinShapeBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    public int joins;
+
+    @Setup
+    public void setup() {
+        BenchmarkTables.configuration();
+    }
+
+    @Benchmark
+    public LambdaJoinWrapper<Student> leftJoin() {
+        return BenchmarkWrappers.join(BenchmarkWrappers.newWrapper(), joins);
+    }
+
+    @Benchmark
+    public String sqlSelectDto() {
+        return BenchmarkWrappers.join(BenchmarkWrappers.newWrapper(), joins).getSqlSelect();
+    }
+
+    @Benchmark
+    public String sqlSelectAll() {
+        return BenchmarkWrappers.join(new LambdaJoinWrapper<>(Student.class, null), joins).getSqlSelect();
+    }
+
+    @Benchmark
+    public String joinPart() {
+        return BenchmarkWrappers.join(BenchmarkWrappers.newWrapper(), joins).getJoinPart();
+    }
+
+    @Benchmark
+    public String sqlSegmentLogicDelete() {
+        return BenchmarkWrappers.join(BenchmarkWrappers.newWrapper(), joins)
+                .eq(Student::getName, "张三")
+                .getSqlSegment();
+    }
+}
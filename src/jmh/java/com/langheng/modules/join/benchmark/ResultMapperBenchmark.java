@@ -0,0 +1,74 @@
+package com.langheng.modules.join.benchmark;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.langheng.modules.join.benchmark.entity.Student;
+import com.langheng.modules.join.benchmark.entity.StudentVo;
+import com.langheng.modules.join.benchmark.mapper.StudentMapper;
+import com.langheng.modules.join.plugins.JoinResultMapperInterceptor;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/18 9:50 下午
+ * @description dto结果映射基准测试：mybatis反射自动映射（compiled = false）和编译的行映射器（compiled = true）<br>
+ * 通过 rows 计数器输出每秒映射行数，每行分配字节数 = gc.alloc.rate.norm / {@link JoinQueryBenchmark#RANGE_SIZE}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResultMapperBenchmark {
+
+    /**
+     * 学生数量
+     */
+    @Param({"100000"})
+    public long rows;
+
+    /**
+     * 是否使用编译的行映射器
+     */
+    @Param({"false", "true"})
+    public boolean compiled;
+
+    private SqlSessionFactory sqlSessionFactory;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        sqlSessionFactory = compiled ?
+                BenchmarkDatabase.start(rows, new JoinResultMapperInterceptor()) :
+                BenchmarkDatabase.start(rows);
+    }
+
+    @Benchmark
+    public List<StudentVo> rangeScanRows(JoinQueryBenchmark.RowCounter counter) {
+        long start = ThreadLocalRandom.current().nextLong(1, Math.max(2, rows - JoinQueryBenchmark.RANGE_SIZE));
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            List<StudentVo> list = sqlSession.getMapper(StudentMapper.class).findVoList(
+                    BenchmarkWrappers.join(BenchmarkWrappers.newWrapper(), 3)
+                            .between(Student::getStudentId, start, start + JoinQueryBenchmark.RANGE_SIZE - 1));
+            counter.rows += list.size();
+            return list;
+        }
+    }
+}
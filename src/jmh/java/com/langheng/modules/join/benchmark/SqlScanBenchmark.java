@@ -0,0 +1,82 @@
+package com.langheng.modules.join.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.langheng.modules.join.benchmark.entity.Student;
+import com.langheng.modules.join.benchmark.entity.StudentVo;
+import com.langheng.modules.join.support.JoinLambdaUtil;
+import com.langheng.modules.join.wrapper.JoinWrapper;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/18 8:50 下午
+ * @description 查询列特殊字符处理和别名生成基准测试（配合 gc 分析器查看每次操作的分配字节数）<br>
+ * legacy 方法为每次编译正则的原实现，作为对比
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SqlScanBenchmark {
+
+    private static final String[] TABLE_NAMES = {"student", "user_class", "class_info", "sys_user_role_dept"};
+
+    private static final String SELECT_SQL = "s.student_id,s.name,s.age,uc.class_info_id,ci.class_name,"
+            + "t.teacher_name,COUNT(s.student_id) AS total";
+
+    private int index;
+
+    @Setup
+    public void setup() {
+        BenchmarkTables.configuration();
+    }
+
+    @Benchmark
+    public String tableAlias() {
+        return JoinLambdaUtil.tableNameToTableAlias(TABLE_NAMES[index++ & 3]);
+    }
+
+    @Benchmark
+    public String legacyTableAlias() {
+        String tableName = TABLE_NAMES[index++ & 3];
+        Matcher matcher = Pattern.compile("_(\\w)", Pattern.DOTALL).matcher(tableName);
+        StringBuilder stringBuilder = new StringBuilder(tableName.substring(0, 1));
+        boolean isFound = false;
+        while (matcher.find()) {
+            stringBuilder.append(matcher.group(1));
+            isFound = true;
+        }
+        if (!isFound) {
+            tableName = tableName.replace("_", "");
+            return tableName.length() >= 3 ? tableName.substring(0, 3) : tableName;
+        }
+        return stringBuilder.toString();
+    }
+
+    @Benchmark
+    public String customSelect() {
+        return new JoinWrapper<>(Student.class, "s", StudentVo.class)
+                .select("s.student_id", "s.name", "s.age")
+                .getSqlSelect();
+    }
+
+    @Benchmark
+    public String legacyStripSqlInjection() {
+        return SELECT_SQL.replaceAll("('.+--)|(--)|(\\|)|(%7C)", "");
+    }
+}
@@ -0,0 +1,74 @@
+package com.langheng.modules.join.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.binding.MapperMethod;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.SqlSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.MybatisXMLLanguageDriver;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
+import com.langheng.modules.join.benchmark.entity.Student;
+import com.langheng.modules.join.scripting.JoinLanguageDriver;
+import com.langheng.modules.join.support.JoinLambdaUtil;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/18 2:05 下午
+ * @description 连表模版sql（OGNL + xml脚本）和连表语言驱动生成BoundSql的基准测试
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SqlSourceBenchmark {
+
+    private SqlSource templateSqlSource;
+
+    private SqlSource joinSqlSource;
+
+    @Setup
+    public void setup() {
+        MybatisConfiguration configuration = BenchmarkTables.configuration();
+        templateSqlSource = new MybatisXMLLanguageDriver()
+                .createSqlSource(configuration, JoinLambdaUtil.SELECT_TEMPLATE, Object.class);
+        joinSqlSource = new JoinLanguageDriver()
+                .createSqlSource(configuration, JoinLambdaUtil.SELECT_TEMPLATE, Object.class);
+    }
+
+    /**
+     * 每次使用新的wrapper，与实际请求一致
+     *
+     * @return mapper参数
+     */
+    private static MapperMethod.ParamMap<Object> newParameter() {
+        MapperMethod.ParamMap<Object> parameter = new MapperMethod.ParamMap<>();
+        parameter.put(Constants.WRAPPER, BenchmarkWrappers.join(BenchmarkWrappers.newWrapper(), 3)
+                .eq(Student::getName, "张三")
+                .gt(Student::getAge, 10));
+        return parameter;
+    }
+
+    @Benchmark
+    public BoundSql template() {
+        return templateSqlSource.getBoundSql(newParameter());
+    }
+
+    @Benchmark
+    public BoundSql joinLanguageDriver() {
+        return joinSqlSource.getBoundSql(newParameter());
+    }
+}
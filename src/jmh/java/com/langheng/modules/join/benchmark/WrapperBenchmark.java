@@ -0,0 +1,65 @@
+package com.langheng.modules.join.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.langheng.modules.join.benchmark.entity.ClassInfo;
+import com.langheng.modules.join.benchmark.entity.Student;
+import com.langheng.modules.join.benchmark.entity.StudentVo;
+import com.langheng.modules.join.benchmark.entity.UserClass;
+import com.langheng.modules.join.wrapper.JoinWrapper;
+import com.langheng.modules.join.wrapper.LambdaJoinWrapper;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/18 2:05 下午
+ * @description wrapper构造和条件设置基准测试
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WrapperBenchmark {
+
+    @Setup
+    public void setup() {
+        BenchmarkTables.configuration();
+    }
+
+    @Benchmark
+    public LambdaJoinWrapper<Student> construct() {
+        return BenchmarkWrappers.newWrapper();
+    }
+
+    @Benchmark
+    public LambdaJoinWrapper<Student> eqLikeChain() {
+        return BenchmarkWrappers.newWrapper()
+                .eq(Student::getName, "张三")
+                .like(Student::getName, "张")
+                .eq(Student::getAge, 18)
+                .gt(Student::getAge, 10)
+                .likeRight(Student::getName, "李");
+    }
+
+    @Benchmark
+    public String joinWrapperNestedJoin() {
+        return new JoinWrapper<>(Student.class, StudentVo.class)
+                .leftJoin("student_id", "student_id", UserClass.class, uc -> uc
+                        .leftJoin("class_info_id", "class_info_id", ClassInfo.class, ci -> ci
+                                .eq("ci.class_name", "软件三班")))
+                .eq("s.name", "张三")
+                .getJoinPart();
+    }
+}
@@ -0,0 +1,23 @@
+package com.langheng.modules.join.benchmark.entity;
+
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+
+import lombok.Data;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/18 2:05 下午
+ * @description 基准测试：班级信息表
+ */
+@Data
+@TableName("class_info")
+public class ClassInfo {
+
+    @TableId
+    private Long classInfoId;
+
+    private String className;
+
+    private Long teacherId;
+}
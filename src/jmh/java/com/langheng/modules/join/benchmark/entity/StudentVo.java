@@ -0,0 +1,24 @@
+package com.langheng.modules.join.benchmark.entity;
+
+import lombok.Data;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/18 2:05 下午
+ * @description 基准测试：学生班级查询结果
+ */
+@Data
+public class StudentVo {
+
+    private Long studentId;
+
+    private String name;
+
+    private Integer age;
+
+    private Long classInfoId;
+
+    private String className;
+
+    private String teacherName;
+}
@@ -0,0 +1,21 @@
+package com.langheng.modules.join.benchmark.entity;
+
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+
+import lombok.Data;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/18 2:05 下午
+ * @description 基准测试：教师表
+ */
+@Data
+@TableName("teacher")
+public class Teacher {
+
+    @TableId
+    private Long teacherId;
+
+    private String teacherName;
+}
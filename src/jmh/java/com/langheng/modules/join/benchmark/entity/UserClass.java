@@ -0,0 +1,27 @@
+package com.langheng.modules.join.benchmark.entity;
+
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableLogic;
+import com.baomidou.mybatisplus.annotation.TableName;
+
+import lombok.Data;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/18 2:05 下午
+ * @description 基准测试：学生班级关联表（选课）
+ */
+@Data
+@TableName("user_class")
+public class UserClass {
+
+    @TableId
+    private Long userClassId;
+
+    private Long studentId;
+
+    private Long classInfoId;
+
+    @TableLogic
+    private Integer deleted;
+}
@@ -0,0 +1,23 @@
+package com.langheng.modules.join.benchmark.mapper;
+
+import java.util.List;
+
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.langheng.modules.join.benchmark.entity.Student;
+import com.langheng.modules.join.benchmark.entity.StudentVo;
+import com.langheng.modules.join.support.JoinLambdaUtil;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/18 3:10 下午
+ * @description 基准测试：学生 mapper
+ */
+public interface StudentMapper extends BaseMapper<Student> {
+
+    @Select(JoinLambdaUtil.SELECT_TEMPLATE)
+    List<StudentVo> findVoList(@Param("ew") Wrapper<?> wrapper);
+}
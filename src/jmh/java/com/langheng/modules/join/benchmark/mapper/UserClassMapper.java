@@ -0,0 +1,12 @@
+package com.langheng.modules.join.benchmark.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.langheng.modules.join.benchmark.entity.UserClass;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/18 3:10 下午
+ * @description 基准测试：UserClass mapper，用于加载表信息
+ */
+public interface UserClassMapper extends BaseMapper<UserClass> {
+}
@@ -0,0 +1,44 @@
+package com.langheng.modules.join.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import com.langheng.modules.join.support.JoinPart;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/18 11:40 上午
+ * @description {@link JoinSelect} 的连表信息
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({})
+public @interface JoinOn {
+
+    /**
+     * 连接表实体类
+     */
+    Class<?> value();
+
+    /**
+     * 连接类型：LEFT：左连接；RIGHT：右连接；INNER：内连接
+     */
+    String type() default JoinPart.JoinType.LEFT_JOIN;
+
+    /**
+     * 来源表别名，默认为主表
+     */
+    String from() default "";
+
+    /**
+     * 来源表字段
+     */
+    String fromColumn();
+
+    /**
+     * 连接表字段
+     */
+    String joinColumn();
+}
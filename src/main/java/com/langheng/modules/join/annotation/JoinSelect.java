@@ -0,0 +1,62 @@
+package com.langheng.modules.join.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/18 11:40 上午
+ * @description 固定结构的连表查询，启动时由 {@link com.langheng.modules.join.injector.JoinSqlInjector} 编译成静态的MappedStatement<br>
+ * 查询不再每次构造wrapper生成sql，条件使用普通的 #{} 参数<br>
+ * <pre>
+ * &#64;JoinSelect(alias = "s", dto = StudentVo.class,
+ *         joins = &#64;JoinOn(value = UserClass.class, fromColumn = "student_id", joinColumn = "student_id"),
+ *         where = "s.name = #{name}")
+ * List&lt;StudentVo&gt; findVoListByName(@Param("name") String name);
+ * </pre>
+ * 连表的别名与 JoinWrapper 生成规则相同（表名各段首字母，重复时加数字后缀）<br>
+ * 静态sql不包含多租户、数据权限条件，需要注册多租户、数据权限插件在执行时添加
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface JoinSelect {
+
+    /**
+     * 主表类，默认为mapper的实体类
+     */
+    Class<?> main() default void.class;
+
+    /**
+     * 主表别名，默认根据表名生成
+     */
+    String alias() default "";
+
+    /**
+     * 查询字段的返回映射类
+     */
+    Class<?> dto();
+
+    /**
+     * 连表信息，按顺序连表
+     */
+    JoinOn[] joins() default {};
+
+    /**
+     * 查询条件，可使用 #{} 参数，如：s.name = #{name}
+     */
+    String where() default "";
+
+    /**
+     * 排序，如：s.create_time DESC
+     */
+    String orderBy() default "";
+
+    /**
+     * 是否添加逻辑删除条件
+     */
+    boolean logicDelete() default true;
+}
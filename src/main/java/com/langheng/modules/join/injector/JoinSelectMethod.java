@@ -0,0 +1,32 @@
+package com.langheng.modules.join.injector;
+
+import org.apache.ibatis.mapping.MappedStatement;
+
+import com.baomidou.mybatisplus.core.injector.AbstractMethod;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.langheng.modules.join.annotation.JoinSelect;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/18 11:40 上午
+ * @description {@link JoinSelect} 修饰的mapper方法，注册为静态连表查询
+ */
+public class JoinSelectMethod extends AbstractMethod {
+
+    private static final long serialVersionUID = 6395143718924750283L;
+
+    private final JoinSelect joinSelect;
+
+    public JoinSelectMethod(String methodName, JoinSelect joinSelect) {
+        super(methodName);
+        this.joinSelect = joinSelect;
+    }
+
+    @Override
+    public MappedStatement injectMappedStatement(Class<?> mapperClass, Class<?> modelClass, TableInfo tableInfo) {
+        //没有指定主表，使用mapper的实体类
+        Class<?> mainClass = void.class == joinSelect.main() ? modelClass : joinSelect.main();
+        JoinSelectSqlSource sqlSource = new JoinSelectSqlSource(configuration, mainClass, joinSelect);
+        return this.addSelectMappedStatementForOther(mapperClass, methodName, sqlSource, joinSelect.dto());
+    }
+}
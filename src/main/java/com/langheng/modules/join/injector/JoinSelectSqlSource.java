@@ -0,0 +1,124 @@
+package com.langheng.modules.join.injector;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.apache.ibatis.builder.SqlSourceBuilder;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.session.Configuration;
+
+import com.baomidou.mybatisplus.core.exceptions.MybatisPlusException;
+import com.baomidou.mybatisplus.core.toolkit.StringPool;
+import com.baomidou.mybatisplus.core.toolkit.StringUtils;
+import com.langheng.modules.join.annotation.JoinOn;
+import com.langheng.modules.join.annotation.JoinSelect;
+import com.langheng.modules.join.support.JoinPart;
+import com.langheng.modules.join.wrapper.JoinWrapper;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/18 11:40 上午
+ * @description {@link JoinSelect} 的静态sql源<br>
+ * sql只生成和解析一次，之后每次执行只绑定参数；
+ * 连表的表信息（TableInfo）可能在当前mapper之后才加载，所以在第一次执行时生成<br>
+ * 附加条件（多租户、数据权限等 {@link com.langheng.modules.join.support.JoinConditionRegistry}）随请求变化，
+ * 不生成到静态sql中，由对应的插件在每次执行时解析添加<br>
+ */
+public class JoinSelectSqlSource implements SqlSource {
+
+    private final Configuration configuration;
+
+    private final Class<?> mainClass;
+
+    private final JoinSelect joinSelect;
+
+    /**
+     * 解析好的静态sql
+     */
+    private volatile SqlSource staticSqlSource;
+
+    public JoinSelectSqlSource(Configuration configuration, Class<?> mainClass, JoinSelect joinSelect) {
+        this.configuration = configuration;
+        this.mainClass = mainClass;
+        this.joinSelect = joinSelect;
+    }
+
+    @Override
+    public BoundSql getBoundSql(Object parameterObject) {
+        SqlSource sqlSource = this.staticSqlSource;
+        if (null == sqlSource) {
+            //重复生成的结果相同，无需加锁
+            sqlSource = new SqlSourceBuilder(configuration).parse(this.getSql(), Object.class, Collections.emptyMap());
+            this.staticSqlSource = sqlSource;
+        }
+        return sqlSource.getBoundSql(parameterObject);
+    }
+
+    /**
+     * 生成连表查询sql
+     *
+     * @return 连表查询sql
+     */
+    public String getSql() {
+        JoinWrapper<?> joinWrapper = this.newWrapper(mainClass);
+        for (JoinOn joinOn : joinSelect.joins()) {
+            //连表字段，指定来源表时带上来源表别名
+            String fromColumn = StringUtils.isBlank(joinOn.from()) ? joinOn.fromColumn() :
+                    joinOn.from() + StringPool.DOT + joinOn.fromColumn();
+            Map<String, String> joinFieldMap = new LinkedHashMap<>(1);
+            joinFieldMap.put(fromColumn, joinOn.joinColumn());
+            join(joinWrapper, joinOn.type(), joinFieldMap, joinOn.value());
+        }
+        if (StringUtils.isNotBlank(joinSelect.where())) {
+            joinWrapper.apply(joinSelect.where());
+        }
+        if (StringUtils.isNotBlank(joinSelect.orderBy())) {
+            joinWrapper.last("ORDER BY " + joinSelect.orderBy());
+        }
+        if (!joinSelect.logicDelete()) {
+            joinWrapper.ignoreLogic();
+        }
+        //静态sql被所有请求共用，不能带上第一次执行时的租户等条件
+        joinWrapper.ignoreCondition();
+        return joinWrapper.getFullSql();
+    }
+
+    /**
+     * 创建主表的wrapper
+     *
+     * @param clazz 主表类
+     * @param <T>   主表类型
+     * @return wrapper
+     */
+    private <T> JoinWrapper<T> newWrapper(Class<T> clazz) {
+        return new JoinWrapper<>(clazz, joinSelect.alias(), joinSelect.dto());
+    }
+
+    /**
+     * 按连表类型连表
+     *
+     * @param joinWrapper  主表wrapper
+     * @param joinType     连表类型
+     * @param joinFieldMap 连表字段
+     * @param clazz        连接表实体类
+     * @param <R>          连接表实体类
+     */
+    private static <R> void join(JoinWrapper<?> joinWrapper, String joinType, Map<String, String> joinFieldMap, Class<R> clazz) {
+        switch (joinType) {
+            case JoinPart.JoinType.LEFT_JOIN:
+                joinWrapper.leftJoin(joinFieldMap, clazz, Function.identity());
+                break;
+            case JoinPart.JoinType.RIGHT_JOIN:
+                joinWrapper.rightJoin(joinFieldMap, clazz, Function.identity());
+                break;
+            case JoinPart.JoinType.INNER_JOIN:
+                joinWrapper.innerJoin(joinFieldMap, clazz, Function.identity());
+                break;
+            default:
+                throw new MybatisPlusException("unsupported join type: " + joinType);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.langheng.modules.join.injector;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.baomidou.mybatisplus.core.injector.AbstractMethod;
+import com.baomidou.mybatisplus.core.injector.DefaultSqlInjector;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.langheng.modules.join.annotation.JoinSelect;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/18 11:40 上午
+ * @description 连表sql注入器，在mybatis-plus默认方法之外，将mapper中 {@link JoinSelect} 修饰的方法注册为静态连表查询<br>
+ * <pre>
+ * &#64;Bean
+ * public JoinSqlInjector joinSqlInjector() {
+ *     return new JoinSqlInjector();
+ * }
+ * </pre>
+ */
+public class JoinSqlInjector extends DefaultSqlInjector {
+
+    @Override
+    public List<AbstractMethod> getMethodList(Class<?> mapperClass, TableInfo tableInfo) {
+        List<AbstractMethod> methodList = new ArrayList<>(super.getMethodList(mapperClass, tableInfo));
+        for (Method method : mapperClass.getMethods()) {
+            JoinSelect joinSelect = method.getAnnotation(JoinSelect.class);
+            if (null != joinSelect) {
+                methodList.add(new JoinSelectMethod(method.getName(), joinSelect));
+            }
+        }
+        return methodList;
+    }
+}
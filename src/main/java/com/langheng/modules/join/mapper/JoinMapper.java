@@ -0,0 +1,31 @@
+package com.langheng.modules.join.mapper;
+
+import java.util.List;
+
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.langheng.modules.join.support.JoinLambdaUtil;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/18 5:40 下午
+ * @description 连表mapper，按连表模版sql查询实体（用于批量连表等需要按表查询的场景）
+ * <pre>
+ * public interface StudentMapper extends JoinMapper&lt;Student&gt; {
+ * }
+ * </pre>
+ */
+public interface JoinMapper<T> extends BaseMapper<T> {
+
+    /**
+     * 按连表模版sql查询实体
+     *
+     * @param wrapper 连表wrapper
+     * @return 实体列表
+     */
+    @Select(JoinLambdaUtil.SELECT_TEMPLATE)
+    List<T> selectJoinList(@Param("ew") Wrapper<?> wrapper);
+}
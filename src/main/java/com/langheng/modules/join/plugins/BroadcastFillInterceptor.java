@@ -0,0 +1,66 @@
+package com.langheng.modules.join.plugins;
+
+import java.util.List;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import com.langheng.modules.join.support.BroadcastJoin;
+import com.langheng.modules.join.support.BroadcastTableCache;
+import com.langheng.modules.join.support.JoinLambdaUtil;
+import com.langheng.modules.join.wrapper.AbstractJoinWrapper;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/18 7:10 下午
+ * @description 广播连表填充拦截器：连表查询返回后，从广播表缓存填充广播连表的dto字段<br>
+ * <pre>
+ * &#64;Bean
+ * public BroadcastFillInterceptor broadcastFillInterceptor() {
+ *     return new BroadcastFillInterceptor();
+ * }
+ * </pre>
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class})
+})
+public class BroadcastFillInterceptor implements Interceptor {
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+        AbstractJoinWrapper<?, ?, ?> wrapper = JoinLambdaUtil.getJoinWrapper(invocation.getArgs()[1]);
+        //只填充返回dto的查询（计数等其他查询使用同一个wrapper时跳过）
+        if (null != wrapper && result instanceof List
+                && isSelectClassResult((MappedStatement) invocation.getArgs()[0], wrapper.getSelectClass())) {
+            List<BroadcastJoin> broadcastJoins = wrapper.getBroadcastJoins();
+            if (!broadcastJoins.isEmpty()) {
+                BroadcastTableCache.fill((List<?>) result, broadcastJoins);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 查询的返回类型是否为wrapper的dto类
+     *
+     * @param ms          查询sql
+     * @param selectClass dto类
+     * @return 是否返回dto
+     */
+    private static boolean isSelectClassResult(MappedStatement ms, Class<?> selectClass) {
+        return null != selectClass && ms.getResultMaps().size() == 1
+                && selectClass == ms.getResultMaps().get(0).getType();
+    }
+}
@@ -0,0 +1,49 @@
+package com.langheng.modules.join.plugins;
+
+import java.sql.SQLException;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import com.baomidou.mybatisplus.core.toolkit.Assert;
+import com.baomidou.mybatisplus.extension.plugins.handler.DataPermissionHandler;
+import com.baomidou.mybatisplus.extension.plugins.inner.DataPermissionInterceptor;
+import com.langheng.modules.join.support.JoinConditionHandler;
+import com.langheng.modules.join.support.JoinLambdaUtil;
+import com.langheng.modules.join.wrapper.AbstractJoinWrapper;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/18 8:20 下午
+ * @description 数据权限插件：生成时已按表添加了数据权限条件的连表查询（{@link AbstractJoinWrapper#isConditionApplied(JoinConditionHandler)}）
+ * 不再解析sql，有原生子查询的连表查询和其他语句同mybatis-plus数据权限插件<br>
+ * 连表查询的数据权限条件通过注册到 {@link com.langheng.modules.join.support.JoinConditionRegistry} 的同一个
+ * {@link JoinConditionHandler} 按表生成
+ */
+public class JoinDataPermissionInterceptor extends DataPermissionInterceptor {
+
+    /**
+     * 连表查询的数据权限条件处理器
+     */
+    private final JoinConditionHandler joinConditionHandler;
+
+    public JoinDataPermissionInterceptor(DataPermissionHandler dataPermissionHandler,
+                                         JoinConditionHandler joinConditionHandler) {
+        super(dataPermissionHandler);
+        Assert.notNull(joinConditionHandler, "join condition handler can not be null.");
+        this.joinConditionHandler = joinConditionHandler;
+    }
+
+    @Override
+    public void beforeQuery(Executor executor, MappedStatement ms, Object parameter, RowBounds rowBounds,
+                            ResultHandler resultHandler, BoundSql boundSql) throws SQLException {
+        AbstractJoinWrapper<?, ?, ?> wrapper = JoinLambdaUtil.getJoinWrapper(parameter);
+        if (null != wrapper && wrapper.isConditionApplied(joinConditionHandler)) {
+            return;
+        }
+        super.beforeQuery(executor, ms, parameter, rowBounds, resultHandler, boundSql);
+    }
+}
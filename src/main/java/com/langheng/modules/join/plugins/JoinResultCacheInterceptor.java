@@ -0,0 +1,534 @@
+package com.langheng.modules.join.plugins;
+
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import com.baomidou.mybatisplus.core.toolkit.Assert;
+import com.baomidou.mybatisplus.core.toolkit.StringPool;
+import com.langheng.modules.join.support.JoinLambdaUtil;
+import com.langheng.modules.join.support.JoinResultCopier;
+import com.langheng.modules.join.wrapper.AbstractJoinWrapper;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/18 7:50 下午
+ * @description 连表查询结果缓存拦截器<br>
+ * 只缓存开启了结果缓存（cacheResult()）的连表查询，key为sql和参数值（mybatis的CacheKey），按查询涉及的表名标记；
+ * 通过mybatis写入（insert、update、delete）时从写入sql中解析写入的表，同mybatis二级缓存（TransactionalCache），
+ * 在事务提交时只清除涉及该表的缓存，回滚时不清除，无法确定写入的表时清除全部缓存；
+ * 有未提交写入的会话不使用缓存，查询期间表有写入的结果不缓存（防止并发查询把旧数据重新缓存）<br>
+ * 缓存和命中时都复制结果（{@link JoinResultCopier}），调用方修改dto不影响缓存，无法安全复制的结果不缓存<br>
+ * 缓存按数量（最近最少使用）和过期时间淘汰，提供命中、未命中统计<br>
+ * 需要在其他执行器插件（MybatisPlusInterceptor等）之前添加到配置中，作为最内层的执行器插件，
+ * 缓存key才是分页、多租户等插件改写后的sql；顺序错误时开启结果缓存的查询抛出异常<br>
+ * <pre>
+ * &#64;Bean
+ * &#64;Order(Ordered.HIGHEST_PRECEDENCE)
+ * public JoinResultCacheInterceptor joinResultCacheInterceptor() {
+ *     return new JoinResultCacheInterceptor(1000, 60 * 1000L);
+ * }
+ * </pre>
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),
+        @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}),
+        @Signature(type = Executor.class, method = "commit", args = {boolean.class}),
+        @Signature(type = Executor.class, method = "rollback", args = {boolean.class}),
+        @Signature(type = Executor.class, method = "close", args = {boolean.class})
+})
+public class JoinResultCacheInterceptor implements Interceptor {
+
+    /**
+     * 无法确定写入的表时的标记，清除全部缓存
+     */
+    private static final String ALL_TABLES = StringPool.ASTERISK;
+
+    /**
+     * 缓存的最大数量
+     */
+    private int maxSize;
+
+    /**
+     * 默认缓存时间（毫秒）
+     */
+    private long ttlMillis;
+
+    /**
+     * 缓存，按访问顺序淘汰
+     */
+    private final LinkedHashMap<CacheKey, CacheEntry> cacheMap = new LinkedHashMap<CacheKey, CacheEntry>(64, 0.75f, true) {
+
+        private static final long serialVersionUID = -2386724913405568191L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<CacheKey, CacheEntry> eldest) {
+            if (size() > maxSize) {
+                untag(eldest.getKey(), eldest.getValue());
+                evictions.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    /**
+     * 表名和缓存key <br>
+     * Map<表名,缓存key> <br>
+     */
+    private final Map<String, Set<CacheKey>> tableKeyMap = new HashMap<>(16);
+
+    /**
+     * 表的写入版本，每次写入和清除时加1，查询前后版本不同的结果不缓存 <br>
+     * Map<表名,写入版本>，无法确定写入的表时使用 {@link #ALL_TABLES} <br>
+     */
+    private final Map<String, AtomicLong> tableVersionMap = new ConcurrentHashMap<>(16);
+
+    /**
+     * 会话（执行器）写入的表，提交时清除缓存 <br>
+     * 执行器只在一个线程中使用，会话没有关闭时按弱引用释放 <br>
+     */
+    private final Map<Executor, TransactionTables> transactionTablesMap = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    public JoinResultCacheInterceptor() {
+        this(1000, 60 * 1000L);
+    }
+
+    public JoinResultCacheInterceptor(int maxSize, long ttlMillis) {
+        Assert.isTrue(maxSize > 0 && ttlMillis > 0, "result cache max size and ttl must be positive.");
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object[] args = invocation.getArgs();
+        Executor executor = (Executor) invocation.getTarget();
+        switch (invocation.getMethod().getName()) {
+            case "update":
+                return this.update(invocation, executor);
+            case "commit":
+                return this.commit(invocation, executor);
+            case "rollback":
+                return this.rollback(invocation, executor);
+            case "close":
+                return this.close(invocation, executor);
+            default:
+                break;
+        }
+        MappedStatement ms = (MappedStatement) args[0];
+        AbstractJoinWrapper<?, ?, ?> wrapper = JoinLambdaUtil.getJoinWrapper(args[1]);
+        //没有开启结果缓存，使用ResultHandler处理结果，或者会话有未提交的写入（需要读到自己的写入），不使用缓存
+        if (null == wrapper || 0 == wrapper.getResultCacheTtlMillis() || null != args[3] || this.hasPending(executor)) {
+            return invocation.proceed();
+        }
+        //缓存key需要使用最终执行的sql（分页、多租户等插件改写后的sql）：内层还有执行器插件时，这里的sql不是最终执行的sql
+        Assert.isFalse(Proxy.isProxyClass(executor.getClass()),
+                "JoinResultCacheInterceptor must be added before other executor interceptors (such as MybatisPlusInterceptor).");
+        RowBounds rowBounds = (RowBounds) args[2];
+        BoundSql boundSql = args.length == 6 ? (BoundSql) args[5] : ms.getBoundSql(args[1]);
+        CacheKey cacheKey = args.length == 6 ? (CacheKey) args[4] : executor.createCacheKey(ms, args[1], rowBounds, boundSql);
+
+        List<?> cached = this.get(cacheKey);
+        if (null != cached) {
+            hits.incrementAndGet();
+            return JoinResultCopier.copy(cached);
+        }
+        misses.incrementAndGet();
+        Set<String> tableNames = wrapper.getTableNames().stream()
+                .map(JoinResultCacheInterceptor::normalizeTableName).collect(Collectors.toSet());
+        long version = this.getVersion(tableNames);
+        List<?> result = executor.query(ms, args[1], rowBounds, null, cacheKey, boundSql);
+        //缓存复制的结果，调用方修改返回的dto不影响缓存；无法安全复制的结果不缓存
+        List<Object> copyResult = JoinResultCopier.copy(result);
+        if (null != copyResult) {
+            long ttl = wrapper.getResultCacheTtlMillis() > 0 ? wrapper.getResultCacheTtlMillis() : this.ttlMillis;
+            this.put(cacheKey, new CacheEntry(copyResult, tableNames, System.currentTimeMillis() + ttl), version);
+        }
+        return result;
+    }
+
+    /**
+     * 写入：记录会话写入的表，提交时再清除缓存；表的版本加1，正在进行的查询结果不缓存
+     *
+     * @param invocation 写入
+     * @param executor   执行器
+     * @return 写入结果
+     * @throws Throwable 写入失败
+     */
+    private Object update(Invocation invocation, Executor executor) throws Throwable {
+        Object[] args = invocation.getArgs();
+        String tableName = getTableName(((MappedStatement) args[0]).getBoundSql(args[1]).getSql());
+        transactionTablesMap.computeIfAbsent(executor, key -> new TransactionTables()).pending.add(tableName);
+        this.incrementVersion(tableName);
+        return invocation.proceed();
+    }
+
+    /**
+     * 提交：清除会话写入的表的缓存<br>
+     * 由spring管理事务时，提交数据库事务在会话提交之后，关闭会话时再清除一次（防止提交前的并发查询把旧数据重新缓存）
+     *
+     * @param invocation 提交
+     * @param executor   执行器
+     * @return null
+     * @throws Throwable 提交失败
+     */
+    private Object commit(Invocation invocation, Executor executor) throws Throwable {
+        Object result = invocation.proceed();
+        TransactionTables transactionTables = transactionTablesMap.get(executor);
+        if (null != transactionTables && !transactionTables.pending.isEmpty()) {
+            this.evict(transactionTables.pending);
+            transactionTables.committed.addAll(transactionTables.pending);
+            transactionTables.pending.clear();
+        }
+        return result;
+    }
+
+    /**
+     * 回滚：未提交的写入不清除缓存
+     *
+     * @param invocation 回滚
+     * @param executor   执行器
+     * @return null
+     * @throws Throwable 回滚失败
+     */
+    private Object rollback(Invocation invocation, Executor executor) throws Throwable {
+        Object result = invocation.proceed();
+        TransactionTables transactionTables = transactionTablesMap.get(executor);
+        if (null != transactionTables) {
+            transactionTables.pending.clear();
+            if (transactionTables.committed.isEmpty()) {
+                transactionTablesMap.remove(executor);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 关闭会话：强制回滚时不清除未提交写入的缓存，否则（自动提交或已提交）清除会话写入的表的缓存
+     *
+     * @param invocation 关闭
+     * @param executor   执行器
+     * @return null
+     * @throws Throwable 关闭失败
+     */
+    private Object close(Invocation invocation, Executor executor) throws Throwable {
+        boolean isForceRollback = (boolean) invocation.getArgs()[0];
+        try {
+            return invocation.proceed();
+        } finally {
+            TransactionTables transactionTables = transactionTablesMap.remove(executor);
+            if (null != transactionTables) {
+                Set<String> tableNames = new HashSet<>(transactionTables.committed);
+                if (!isForceRollback) {
+                    tableNames.addAll(transactionTables.pending);
+                }
+                this.evict(tableNames);
+            }
+        }
+    }
+
+    /**
+     * 会话是否有未提交的写入
+     *
+     * @param executor 执行器
+     * @return 是否有未提交的写入
+     */
+    private boolean hasPending(Executor executor) {
+        TransactionTables transactionTables = transactionTablesMap.get(executor);
+        return null != transactionTables && !transactionTables.pending.isEmpty();
+    }
+
+    /**
+     * 获取未过期的缓存
+     *
+     * @param cacheKey 缓存key
+     * @return 查询结果，没有返回null
+     */
+    private List<?> get(CacheKey cacheKey) {
+        synchronized (cacheMap) {
+            CacheEntry cacheEntry = cacheMap.get(cacheKey);
+            if (null == cacheEntry) {
+                return null;
+            }
+            if (cacheEntry.expireAt < System.currentTimeMillis()) {
+                cacheMap.remove(cacheKey);
+                this.untag(cacheKey, cacheEntry);
+                return null;
+            }
+            return cacheEntry.result;
+        }
+    }
+
+    /**
+     * 添加缓存，并按表名标记；查询期间表有写入（版本变化）时不缓存
+     *
+     * @param cacheKey   缓存key
+     * @param cacheEntry 缓存
+     * @param version    查询前表的版本
+     */
+    private void put(CacheKey cacheKey, CacheEntry cacheEntry, long version) {
+        synchronized (cacheMap) {
+            if (version != this.getVersion(cacheEntry.tableNames)) {
+                return;
+            }
+            CacheEntry oldEntry = cacheMap.put(cacheKey, cacheEntry);
+            if (null != oldEntry) {
+                this.untag(cacheKey, oldEntry);
+            }
+            cacheEntry.tableNames.forEach(tableName ->
+                    tableKeyMap.computeIfAbsent(tableName, key -> new HashSet<>()).add(cacheKey));
+        }
+    }
+
+    /**
+     * 去掉缓存的表名标记
+     *
+     * @param cacheKey   缓存key
+     * @param cacheEntry 缓存
+     */
+    private void untag(CacheKey cacheKey, CacheEntry cacheEntry) {
+        cacheEntry.tableNames.forEach(tableName -> {
+            Set<CacheKey> cacheKeys = tableKeyMap.get(tableName);
+            if (null != cacheKeys) {
+                cacheKeys.remove(cacheKey);
+                if (cacheKeys.isEmpty()) {
+                    tableKeyMap.remove(tableName);
+                }
+            }
+        });
+    }
+
+    /**
+     * 清除涉及这些表的缓存，有无法确定的表时清除全部缓存；表的版本加1
+     *
+     * @param tableNames 写入的表名
+     */
+    private void evict(Collection<String> tableNames) {
+        if (tableNames.isEmpty()) {
+            return;
+        }
+        synchronized (cacheMap) {
+            tableNames.forEach(this::incrementVersion);
+            if (tableNames.contains(ALL_TABLES)) {
+                cacheMap.clear();
+                tableKeyMap.clear();
+                return;
+            }
+            for (String tableName : tableNames) {
+                Set<CacheKey> cacheKeys = tableKeyMap.remove(tableName);
+                if (null == cacheKeys) {
+                    continue;
+                }
+                for (CacheKey cacheKey : cacheKeys) {
+                    CacheEntry cacheEntry = cacheMap.remove(cacheKey);
+                    if (null != cacheEntry) {
+                        this.untag(cacheKey, cacheEntry);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 表的写入版本加1
+     *
+     * @param tableName 表名
+     */
+    private void incrementVersion(String tableName) {
+        tableVersionMap.computeIfAbsent(tableName, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    /**
+     * 获取表的写入版本（各表版本和全部表版本之和，版本只增不减，任意一个表写入后都会变化）
+     *
+     * @param tableNames 表名
+     * @return 写入版本
+     */
+    private long getVersion(Set<String> tableNames) {
+        AtomicLong allVersion = tableVersionMap.get(ALL_TABLES);
+        long version = null == allVersion ? 0 : allVersion.get();
+        for (String tableName : tableNames) {
+            AtomicLong tableVersion = tableVersionMap.get(tableName);
+            if (null != tableVersion) {
+                version += tableVersion.get();
+            }
+        }
+        return version;
+    }
+
+    /**
+     * 清除全部缓存
+     */
+    public void clear() {
+        synchronized (cacheMap) {
+            cacheMap.clear();
+            tableKeyMap.clear();
+        }
+    }
+
+    /**
+     * 从写入sql中解析写入的表（INSERT INTO、REPLACE INTO、MERGE INTO、UPDATE、DELETE FROM）
+     *
+     * @param sql 写入的sql
+     * @return 规范化的表名，无法确定（多条语句、其他语法）时为 {@link #ALL_TABLES}
+     */
+    static String getTableName(String sql) {
+        String trimSql = sql.trim();
+        if (trimSql.endsWith(StringPool.SEMICOLON)) {
+            trimSql = trimSql.substring(0, trimSql.length() - 1);
+        }
+        if (trimSql.contains(StringPool.SEMICOLON)) {
+            return ALL_TABLES;
+        }
+        String[] words = trimSql.split("[\\s(]+", 5);
+        if (words.length < 3) {
+            return ALL_TABLES;
+        }
+        String command = words[0].toLowerCase();
+        int index = 1;
+        if ("update".equals(command)) {
+            //UPDATE [IGNORE] table
+            index = "ignore".equalsIgnoreCase(words[index]) ? index + 1 : index;
+        } else if ("insert".equals(command) || "replace".equals(command) || "merge".equals(command)) {
+            //INSERT [IGNORE] INTO table
+            index = "ignore".equalsIgnoreCase(words[index]) ? index + 1 : index;
+            if (index >= words.length || !"into".equalsIgnoreCase(words[index])) {
+                return ALL_TABLES;
+            }
+            index++;
+        } else if ("delete".equals(command)) {
+            //DELETE FROM table，多表删除（DELETE t FROM ...）无法确定
+            if (!"from".equalsIgnoreCase(words[index])) {
+                return ALL_TABLES;
+            }
+            index++;
+        } else {
+            return ALL_TABLES;
+        }
+        return index < words.length ? normalizeTableName(words[index]) : ALL_TABLES;
+    }
+
+    /**
+     * 规范化表名：去掉引号、反引号、方括号和schema，转小写
+     *
+     * @param tableName 表名
+     * @return 规范化的表名
+     */
+    static String normalizeTableName(String tableName) {
+        String name = tableName.replace("`", "").replace("\"", "").replace("[", "").replace("]", "");
+        int dotIndex = name.lastIndexOf(StringPool.DOT);
+        name = dotIndex >= 0 ? name.substring(dotIndex + 1) : name;
+        return name.isEmpty() ? ALL_TABLES : name.toLowerCase();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * 命中率
+     *
+     * @return 命中率，没有查询时为0
+     */
+    public double getHitRate() {
+        long total = hits.get() + misses.get();
+        return 0 == total ? 0 : (double) hits.get() / total;
+    }
+
+    /**
+     * 当前缓存数量
+     *
+     * @return 缓存数量
+     */
+    public int size() {
+        synchronized (cacheMap) {
+            return cacheMap.size();
+        }
+    }
+
+    @Override
+    public void setProperties(Properties properties) {
+        String maxSizeProperty = properties.getProperty("maxSize");
+        if (null != maxSizeProperty) {
+            this.maxSize = Integer.parseInt(maxSizeProperty);
+        }
+        String ttlProperty = properties.getProperty("ttlMillis");
+        if (null != ttlProperty) {
+            this.ttlMillis = Long.parseLong(ttlProperty);
+        }
+    }
+
+    /**
+     * 缓存
+     */
+    private static class CacheEntry {
+
+        private final List<?> result;
+
+        private final Set<String> tableNames;
+
+        private final long expireAt;
+
+        CacheEntry(List<?> result, Set<String> tableNames, long expireAt) {
+            this.result = result;
+            this.tableNames = tableNames;
+            this.expireAt = expireAt;
+        }
+    }
+
+    /**
+     * 会话写入的表
+     */
+    private static class TransactionTables {
+
+        /**
+         * 未提交的写入
+         */
+        private final Set<String> pending = new HashSet<>(4);
+
+        /**
+         * 已提交的写入，关闭会话时再清除一次
+         */
+        private final Set<String> committed = new HashSet<>(4);
+    }
+}
@@ -0,0 +1,144 @@
+package com.langheng.modules.join.plugins;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.ibatis.executor.parameter.ParameterHandler;
+import org.apache.ibatis.executor.resultset.ResultSetHandler;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.SystemMetaObject;
+import org.apache.ibatis.reflection.factory.DefaultObjectFactory;
+import org.apache.ibatis.session.AutoMappingBehavior;
+import org.apache.ibatis.session.AutoMappingUnknownColumnBehavior;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.RowBounds;
+
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import com.langheng.modules.join.support.JoinBoundedCache;
+import com.langheng.modules.join.support.JoinLambdaUtil;
+import com.langheng.modules.join.support.JoinRowMapper;
+import com.langheng.modules.join.wrapper.AbstractJoinWrapper;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/18 9:50 下午
+ * @description 连表查询dto结果映射拦截器：只查询dto字段的连表查询，使用按（查询列，dto类）编译好的行映射器
+ * （{@link JoinRowMapper}）映射结果，不再使用mybatis的反射自动映射<br>
+ * 以下情况使用mybatis默认映射：结果映射有配置的字段映射、嵌套映射或鉴别器，返回类型不是wrapper的dto类，
+ * 使用了ResultHandler或分页RowBounds，关闭了自动映射，开启了callSettersOnNulls，未知列处理不是NONE（WARNING、FAILING），
+ * 自定义了ObjectFactory，存储过程的多结果集<br>
+ * <pre>
+ * &#64;Bean
+ * public JoinResultMapperInterceptor joinResultMapperInterceptor() {
+ *     return new JoinResultMapperInterceptor();
+ * }
+ * </pre>
+ */
+@Intercepts({
+        @Signature(type = ResultSetHandler.class, method = "handleResultSets", args = {Statement.class})
+})
+public class JoinResultMapperInterceptor implements Interceptor {
+
+    /**
+     * 无法编译行映射器的占位，使用mybatis默认映射
+     */
+    private static final Object UNSUPPORTED = new Object();
+
+    /**
+     * 行映射器缓存，查询列异常多时超过数量上限，淘汰最久没有使用的行映射器，读取不加锁 <br>
+     * Map<[配置,dto类,查询列],行映射器> <br>
+     */
+    private static final JoinBoundedCache<List<Object>, Object> ROW_MAPPER_CACHE_MAP = new JoinBoundedCache<>(1024);
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        MetaObject metaObject = SystemMetaObject.forObject(PluginUtils.realTarget(invocation.getTarget()));
+        MappedStatement ms = (MappedStatement) metaObject.getValue("mappedStatement");
+        ParameterHandler parameterHandler = (ParameterHandler) metaObject.getValue("parameterHandler");
+        AbstractJoinWrapper<?, ?, ?> wrapper = JoinLambdaUtil.getJoinWrapper(parameterHandler.getParameterObject());
+        if (null == wrapper || null == wrapper.getSelectClass()
+                || null != metaObject.getValue("resultHandler")
+                || RowBounds.DEFAULT != metaObject.getValue("rowBounds")
+                || !isAutoMappingOnly(ms, wrapper.getSelectClass())) {
+            return invocation.proceed();
+        }
+        Configuration configuration = ms.getConfiguration();
+        List<Object> cacheKey = Arrays.asList(configuration, wrapper.getSelectClass(), wrapper.getSqlSelect());
+        Object rowMapper = ROW_MAPPER_CACHE_MAP.get(cacheKey);
+        if (UNSUPPORTED == rowMapper) {
+            return invocation.proceed();
+        }
+        Statement statement = (Statement) invocation.getArgs()[0];
+        ResultSet resultSet = getFirstResultSet(statement);
+        if (null == resultSet) {
+            return invocation.proceed();
+        }
+        if (null == rowMapper) {
+            rowMapper = JoinRowMapper.compile(configuration, resultSet.getMetaData(), wrapper.getSelectClass());
+            if (null == rowMapper) {
+                rowMapper = UNSUPPORTED;
+            }
+            ROW_MAPPER_CACHE_MAP.putIfAbsent(cacheKey, rowMapper);
+            if (UNSUPPORTED == rowMapper) {
+                //只在第一次编译失败时出现，mybatis从statement重新获取同一个结果集
+                return invocation.proceed();
+            }
+        }
+        try {
+            return ((JoinRowMapper) rowMapper).mapRows(resultSet);
+        } finally {
+            resultSet.close();
+        }
+    }
+
+    /**
+     * 是否只使用自动映射：只有一个没有字段映射、嵌套映射、鉴别器的结果映射，返回类型为dto类，开启了自动映射<br>
+     * null值赋值（callSettersOnNulls）、未知列的警告或报错（autoMappingUnknownColumnBehavior）由mybatis默认映射处理
+     *
+     * @param ms       查询sql
+     * @param dtoClass dto类
+     * @return 是否只使用自动映射
+     */
+    private static boolean isAutoMappingOnly(MappedStatement ms, Class<?> dtoClass) {
+        Configuration configuration = ms.getConfiguration();
+        if (null != ms.getResultSets() || ms.getResultMaps().size() != 1
+                || AutoMappingBehavior.NONE == configuration.getAutoMappingBehavior()
+                || configuration.isCallSettersOnNulls()
+                || AutoMappingUnknownColumnBehavior.NONE != configuration.getAutoMappingUnknownColumnBehavior()
+                || DefaultObjectFactory.class != configuration.getObjectFactory().getClass()) {
+            return false;
+        }
+        ResultMap resultMap = ms.getResultMaps().get(0);
+        return dtoClass == resultMap.getType() && resultMap.getResultMappings().isEmpty()
+                && !resultMap.hasNestedResultMaps() && null == resultMap.getDiscriminator()
+                && !Boolean.FALSE.equals(resultMap.getAutoMapping());
+    }
+
+    /**
+     * 获取第一个结果集（同mybatis，跳过前面的更新数量）
+     *
+     * @param statement statement
+     * @return 结果集，没有返回null
+     * @throws SQLException 获取失败
+     */
+    private static ResultSet getFirstResultSet(Statement statement) throws SQLException {
+        ResultSet resultSet = statement.getResultSet();
+        while (null == resultSet) {
+            if (statement.getMoreResults()) {
+                resultSet = statement.getResultSet();
+            } else if (-1 == statement.getUpdateCount()) {
+                break;
+            }
+        }
+        return resultSet;
+    }
+}
@@ -0,0 +1,50 @@
+package com.langheng.modules.join.plugins;
+
+import java.sql.SQLException;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import com.baomidou.mybatisplus.extension.plugins.inner.TenantLineInnerInterceptor;
+import com.langheng.modules.join.support.JoinConditionHandler;
+import com.langheng.modules.join.support.JoinLambdaUtil;
+import com.langheng.modules.join.support.TenantJoinConditionHandler;
+import com.langheng.modules.join.wrapper.AbstractJoinWrapper;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/18 8:20 下午
+ * @description 多租户插件：生成时已按表添加了多租户条件的连表查询（{@link AbstractJoinWrapper#isConditionApplied(JoinConditionHandler)}）
+ * 不再解析sql，有原生子查询的连表查询和其他语句同mybatis-plus多租户插件<br>
+ * 使用注册到 {@link com.langheng.modules.join.support.JoinConditionRegistry} 的同一个 {@link TenantJoinConditionHandler}<br>
+ * <pre>
+ * TenantJoinConditionHandler tenantJoinConditionHandler = new TenantJoinConditionHandler(tenantLineHandler);
+ * JoinConditionRegistry.register(tenantJoinConditionHandler);
+ * interceptor.addInnerInterceptor(new JoinTenantLineInnerInterceptor(tenantJoinConditionHandler));
+ * </pre>
+ */
+public class JoinTenantLineInnerInterceptor extends TenantLineInnerInterceptor {
+
+    /**
+     * 连表查询的多租户条件处理器
+     */
+    private final TenantJoinConditionHandler tenantJoinConditionHandler;
+
+    public JoinTenantLineInnerInterceptor(TenantJoinConditionHandler tenantJoinConditionHandler) {
+        super(tenantJoinConditionHandler.getTenantLineHandler());
+        this.tenantJoinConditionHandler = tenantJoinConditionHandler;
+    }
+
+    @Override
+    public void beforeQuery(Executor executor, MappedStatement ms, Object parameter, RowBounds rowBounds,
+                            ResultHandler resultHandler, BoundSql boundSql) throws SQLException {
+        AbstractJoinWrapper<?, ?, ?> wrapper = JoinLambdaUtil.getJoinWrapper(parameter);
+        if (null != wrapper && wrapper.isConditionApplied(tenantJoinConditionHandler)) {
+            return;
+        }
+        super.beforeQuery(executor, ms, parameter, rowBounds, resultHandler, boundSql);
+    }
+}
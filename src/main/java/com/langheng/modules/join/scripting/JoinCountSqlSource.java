@@ -0,0 +1,23 @@
+package com.langheng.modules.join.scripting;
+
+import org.apache.ibatis.session.Configuration;
+
+import com.langheng.modules.join.wrapper.AbstractJoinWrapper;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/18 4:20 下午
+ * @description 连表分页计数sql源<br>
+ * 等价于{@link com.langheng.modules.join.support.JoinLambdaUtil#COUNT_TEMPLATE}，直接使用wrapper生成的计数sql<br>
+ */
+public class JoinCountSqlSource extends JoinSqlSource {
+
+    public JoinCountSqlSource(Configuration configuration) {
+        super(configuration);
+    }
+
+    @Override
+    protected String getSql(AbstractJoinWrapper<?, ?, ?> wrapper) {
+        return wrapper.getCountSql();
+    }
+}
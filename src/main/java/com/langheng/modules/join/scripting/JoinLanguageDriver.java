@@ -0,0 +1,33 @@
+package com.langheng.modules.join.scripting;
+
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.session.Configuration;
+
+import com.baomidou.mybatisplus.core.MybatisXMLLanguageDriver;
+import com.langheng.modules.join.support.JoinLambdaUtil;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/18 11:02 上午
+ * @description 连表查询语言驱动<br>
+ * 连表模版sql（{@link JoinLambdaUtil#SELECT_TEMPLATE}、{@link JoinLambdaUtil#COUNT_TEMPLATE}）直接从wrapper生成sql，不再走OGNL和xml脚本解析，
+ * 其他sql仍使用mybatis-plus默认的驱动<br>
+ * <pre>
+ * &#64;Lang(JoinLanguageDriver.class)
+ * &#64;Select(JoinLambdaUtil.SELECT_TEMPLATE)
+ * List&lt;StudentVo&gt; findVoList(@Param("ew") Wrapper&lt;?&gt; wrapper);
+ * </pre>
+ */
+public class JoinLanguageDriver extends MybatisXMLLanguageDriver {
+
+    @Override
+    public SqlSource createSqlSource(Configuration configuration, String script, Class<?> parameterType) {
+        if (JoinLambdaUtil.SELECT_TEMPLATE.equals(script)) {
+            return new JoinSqlSource(configuration);
+        }
+        if (JoinLambdaUtil.COUNT_TEMPLATE.equals(script)) {
+            return new JoinCountSqlSource(configuration);
+        }
+        return super.createSqlSource(configuration, script, parameterType);
+    }
+}
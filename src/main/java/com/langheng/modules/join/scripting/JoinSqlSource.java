@@ -0,0 +1,80 @@
+package com.langheng.modules.join.scripting;
+
+import java.util.Collections;
+
+import org.apache.ibatis.builder.SqlSourceBuilder;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.session.Configuration;
+
+import com.baomidou.mybatisplus.core.exceptions.MybatisPlusException;
+import com.baomidou.mybatisplus.core.toolkit.StringPool;
+import com.langheng.modules.join.support.JoinBoundedCache;
+import com.langheng.modules.join.support.JoinLambdaUtil;
+import com.langheng.modules.join.wrapper.AbstractJoinWrapper;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/18 11:02 上午
+ * @description 连表查询sql源<br>
+ * 直接读取参数中的连表wrapper（ew）一次拼出sql，等价于{@link com.langheng.modules.join.support.JoinLambdaUtil#SELECT_TEMPLATE}；
+ * 拼出的sql按文本缓存解析好的#{}参数映射，相同的sql不再重复解析<br>
+ */
+public class JoinSqlSource implements SqlSource {
+
+    /**
+     * 解析缓存上限，超过时淘汰最久没有使用的sql
+     */
+    private static final int SQL_SOURCE_CACHE_LIMIT = 1024;
+
+    private final SqlSourceBuilder sqlSourceParser;
+
+    /**
+     * 解析好的静态sql缓存 <br>
+     * Map<sql,静态sql源> <br>
+     */
+    private final JoinBoundedCache<String, SqlSource> staticSqlSourceMap = new JoinBoundedCache<>(SQL_SOURCE_CACHE_LIMIT);
+
+    public JoinSqlSource(Configuration configuration) {
+        this.sqlSourceParser = new SqlSourceBuilder(configuration);
+    }
+
+    @Override
+    public BoundSql getBoundSql(Object parameterObject) {
+        String sql = this.getSql(getWrapper(parameterObject));
+        SqlSource staticSqlSource = staticSqlSourceMap.get(sql);
+        if (null == staticSqlSource) {
+            staticSqlSource = sqlSourceParser.parse(sql, Object.class, Collections.emptyMap());
+            staticSqlSourceMap.putIfAbsent(sql, staticSqlSource);
+        }
+        return staticSqlSource.getBoundSql(parameterObject);
+    }
+
+    /**
+     * 生成连表查询sql
+     *
+     * @param wrapper 连表wrapper
+     * @return SELECT sqlSelect FROM fromTable tableAlias joinPart customSqlSegment
+     */
+    protected String getSql(AbstractJoinWrapper<?, ?, ?> wrapper) {
+        return "SELECT " + wrapper.getSqlSelect()
+                + " FROM " + wrapper.getFromTable()
+                + StringPool.SPACE + wrapper.getTableAlias()
+                + StringPool.SPACE + wrapper.getJoinPart()
+                + StringPool.SPACE + wrapper.getCustomSqlSegment();
+    }
+
+    /**
+     * 从参数中获取连表wrapper
+     *
+     * @param parameterObject 参数
+     * @return 连表wrapper
+     */
+    protected static AbstractJoinWrapper<?, ?, ?> getWrapper(Object parameterObject) {
+        AbstractJoinWrapper<?, ?, ?> wrapper = JoinLambdaUtil.getJoinWrapper(parameterObject);
+        if (null == wrapper) {
+            throw new MybatisPlusException("join sql source requires a join wrapper parameter named \"ew\"");
+        }
+        return wrapper;
+    }
+}
@@ -35,4 +35,14 @@ public class AlisColumnCache implements Serializable {
      * 查询 column
      */
     private String columnSelect;
+
+    /**
+     * 字段所属的实体类
+     */
+    private Class<?> entityClass;
+
+    /**
+     * 实体类属性名
+     */
+    private String property;
 }
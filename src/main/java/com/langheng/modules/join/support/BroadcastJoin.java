@@ -0,0 +1,36 @@
+package com.langheng.modules.join.support;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/18 7:10 下午
+ * @description 广播连表：不生成到sql中的连表，查询后从广播表缓存中按连表字段值填充dto
+ */
+@Data
+@AllArgsConstructor
+public class BroadcastJoin {
+
+    /**
+     * 连表的类型
+     */
+    private Class<?> joinClass;
+
+    /**
+     * 连表的别名
+     */
+    private String tableAlias;
+
+    /**
+     * dto中保存连表字段值（连表主键）的属性
+     */
+    private String keyProperty;
+
+    /**
+     * dto中从连表填充的属性（与连表实体的属性同名）
+     */
+    private List<String> fillProperties;
+}
@@ -0,0 +1,242 @@
+package com.langheng.modules.join.support;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.SystemMetaObject;
+
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.baomidou.mybatisplus.core.toolkit.Assert;
+import com.baomidou.mybatisplus.core.toolkit.CollectionUtils;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/18 7:10 下午
+ * @description 广播表缓存：数据量小、很少变化的字典表（如班级、部门），按主键缓存在进程内<br>
+ * 注册后，wrapper开启广播（broadcast()）时，以该表主键左连接、且只用于查询列的连表不再生成到sql中，
+ * 查询后由 {@link com.langheng.modules.join.plugins.BroadcastFillInterceptor} 从缓存中填充dto<br>
+ * 缓存按数量（最近最少使用）和过期时间淘汰，数据变化时调用 {@link #invalidate(Class)}<br>
+ * <pre>
+ * BroadcastTableCache.register(ClassInfo.class, classInfoMapper::selectBatchIds, 10000, 10 * 60 * 1000L);
+ * </pre>
+ */
+public class BroadcastTableCache {
+
+    /**
+     * 注册的广播表 <br>
+     * Map<实体类,广播表> <br>
+     */
+    private static final Map<Class<?>, BroadcastTable> TABLE_MAP = new ConcurrentHashMap<>(8);
+
+    /**
+     * 不存在的行的占位
+     */
+    private static final Object ABSENT = new Object();
+
+    private BroadcastTableCache() {
+    }
+
+    /**
+     * 注册广播表
+     *
+     * @param entityClass 实体类（需要有主键）
+     * @param loader      按主键批量加载，如 mapper::selectBatchIds（逻辑删除的行不应返回）
+     * @param maxSize     缓存的最大行数
+     * @param ttlMillis   缓存过期时间（毫秒）
+     * @param <T>         实体类型
+     */
+    public static <T> void register(Class<T> entityClass, Function<Collection<? extends Serializable>, List<T>> loader,
+                                    int maxSize, long ttlMillis) {
+        TableInfo tableInfo = TableInfoHelper.getTableInfo(entityClass);
+        Assert.isTrue(null != tableInfo && tableInfo.havePK(),
+                "broadcast table requires primary key of class [%s].", entityClass.getName());
+        Assert.isTrue(maxSize > 0 && ttlMillis > 0, "broadcast table max size and ttl must be positive.");
+        TABLE_MAP.put(entityClass, new BroadcastTable(tableInfo.getKeyProperty(), loader, maxSize, ttlMillis));
+    }
+
+    /**
+     * 是否注册为广播表
+     *
+     * @param entityClass 实体类
+     * @return 是否注册
+     */
+    public static boolean isRegistered(Class<?> entityClass) {
+        return null != entityClass && TABLE_MAP.containsKey(entityClass);
+    }
+
+    /**
+     * 清除广播表的缓存，数据变化时调用
+     *
+     * @param entityClass 实体类
+     */
+    public static void invalidate(Class<?> entityClass) {
+        BroadcastTable table = TABLE_MAP.get(entityClass);
+        if (null != table) {
+            table.clear();
+        }
+    }
+
+    /**
+     * 清除全部广播表的缓存
+     */
+    public static void invalidateAll() {
+        TABLE_MAP.values().forEach(BroadcastTable::clear);
+    }
+
+    /**
+     * 从广播表缓存中填充dto
+     *
+     * @param dtoList        查询结果
+     * @param broadcastJoins 广播连表
+     */
+    public static void fill(List<?> dtoList, List<BroadcastJoin> broadcastJoins) {
+        if (CollectionUtils.isEmpty(dtoList) || CollectionUtils.isEmpty(broadcastJoins)) {
+            return;
+        }
+        List<MetaObject> dtoMetaObjects = new ArrayList<>(dtoList.size());
+        for (Object dto : dtoList) {
+            dtoMetaObjects.add(null == dto ? null : SystemMetaObject.forObject(dto));
+        }
+        for (BroadcastJoin broadcastJoin : broadcastJoins) {
+            BroadcastTable table = TABLE_MAP.get(broadcastJoin.getJoinClass());
+            Assert.notNull(table, "class [%s] is not a broadcast table.", broadcastJoin.getJoinClass().getName());
+            //去重的主键
+            Map<Object, Object> keyMap = new LinkedHashMap<>(16);
+            for (MetaObject dtoMetaObject : dtoMetaObjects) {
+                Object key = getKey(dtoMetaObject, broadcastJoin.getKeyProperty());
+                if (null != key) {
+                    keyMap.putIfAbsent(normalize(key), key);
+                }
+            }
+            Map<Object, Object> rowMap = table.getRows(keyMap);
+            for (MetaObject dtoMetaObject : dtoMetaObjects) {
+                Object key = getKey(dtoMetaObject, broadcastJoin.getKeyProperty());
+                Object row = null == key ? null : rowMap.get(normalize(key));
+                if (null == row) {
+                    continue;
+                }
+                MetaObject rowMetaObject = SystemMetaObject.forObject(row);
+                for (String property : broadcastJoin.getFillProperties()) {
+                    if (rowMetaObject.hasGetter(property) && dtoMetaObject.hasSetter(property)) {
+                        dtoMetaObject.setValue(property, rowMetaObject.getValue(property));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 获取dto的连表字段值
+     *
+     * @param dtoMetaObject dto
+     * @param keyProperty   连表字段属性
+     * @return 连表字段值，dto为空或没有该属性时返回null
+     */
+    private static Object getKey(MetaObject dtoMetaObject, String keyProperty) {
+        return null == dtoMetaObject || !dtoMetaObject.hasGetter(keyProperty) ? null : dtoMetaObject.getValue(keyProperty);
+    }
+
+    /**
+     * 规范化主键，数值按数值比较（如 Integer 1 和 Long 1 相等）
+     *
+     * @param key 主键
+     * @return 规范化的主键
+     */
+    private static Object normalize(Object key) {
+        return key instanceof Number ? new BigDecimal(key.toString()).stripTrailingZeros() : key;
+    }
+
+    /**
+     * 广播表
+     */
+    private static class BroadcastTable {
+
+        private final String keyProperty;
+
+        private final Function<Collection<? extends Serializable>, ? extends List<?>> loader;
+
+        private final long ttlMillis;
+
+        /**
+         * 缓存的行，按访问顺序淘汰 <br>
+         * Map<规范化的主键,[行,过期时间]> <br>
+         */
+        private final LinkedHashMap<Object, Object[]> rows;
+
+        BroadcastTable(String keyProperty, Function<Collection<? extends Serializable>, ? extends List<?>> loader,
+                       int maxSize, long ttlMillis) {
+            this.keyProperty = keyProperty;
+            this.loader = loader;
+            this.ttlMillis = ttlMillis;
+            this.rows = new LinkedHashMap<Object, Object[]>(16, 0.75f, true) {
+
+                private static final long serialVersionUID = 2876423198432015762L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Object, Object[]> eldest) {
+                    return size() > maxSize;
+                }
+            };
+        }
+
+        /**
+         * 按主键获取行，缓存中没有或已过期的批量加载
+         *
+         * @param keyMap Map<规范化的主键,主键>
+         * @return Map<规范化的主键,行>，不存在的行没有
+         */
+        Map<Object, Object> getRows(Map<Object, Object> keyMap) {
+            Map<Object, Object> rowMap = new HashMap<>(keyMap.size() * 4 / 3 + 1);
+            List<Serializable> missKeys = new ArrayList<>();
+            long now = System.currentTimeMillis();
+            synchronized (this.rows) {
+                keyMap.forEach((normalizedKey, key) -> {
+                    Object[] cached = this.rows.get(normalizedKey);
+                    if (null == cached || (long) cached[1] < now) {
+                        missKeys.add((Serializable) key);
+                    } else if (ABSENT != cached[0]) {
+                        rowMap.put(normalizedKey, cached[0]);
+                    }
+                });
+            }
+            if (missKeys.isEmpty()) {
+                return rowMap;
+            }
+            Map<Object, Object> loadedMap = new HashMap<>(missKeys.size() * 4 / 3 + 1);
+            for (Object row : this.loader.apply(missKeys)) {
+                Object key = SystemMetaObject.forObject(row).getValue(this.keyProperty);
+                if (null != key) {
+                    loadedMap.put(normalize(key), row);
+                }
+            }
+            long expireAt = System.currentTimeMillis() + this.ttlMillis;
+            synchronized (this.rows) {
+                for (Serializable missKey : missKeys) {
+                    Object normalizedKey = normalize(missKey);
+                    Object row = loadedMap.get(normalizedKey);
+                    this.rows.put(normalizedKey, new Object[]{null == row ? ABSENT : row, expireAt});
+                    if (null != row) {
+                        rowMap.put(normalizedKey, row);
+                    }
+                }
+            }
+            return rowMap;
+        }
+
+        void clear() {
+            synchronized (this.rows) {
+                this.rows.clear();
+            }
+        }
+    }
+}
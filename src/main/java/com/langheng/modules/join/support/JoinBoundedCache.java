@@ -0,0 +1,175 @@
+package com.langheng.modules.join.support;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.baomidou.mybatisplus.core.toolkit.Assert;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/19 2:30 下午
+ * @description 有数量上限的无锁缓存，线程安全<br>
+ * 读取只读ConcurrentHashMap，不加锁；每个缓存记录最近访问的序号（每次新增缓存时加1），
+ * 超过上限时由一个线程淘汰最久没有访问的缓存到上限的90%，淘汰是近似的（淘汰期间仍可以读取、添加）<br>
+ * 用于按sql结构缓存的连表sql、查询列、行映射器，结构异常多时不会无限增长，也不会在满了之后每次都重新生成
+ */
+public class JoinBoundedCache<K, V> {
+
+    /**
+     * 缓存
+     */
+    private final ConcurrentHashMap<K, CacheEntry<V>> cacheMap = new ConcurrentHashMap<>(64);
+
+    /**
+     * 缓存的最大数量
+     */
+    private final int maxSize;
+
+    /**
+     * 淘汰后保留的数量
+     */
+    private final int retainSize;
+
+    /**
+     * 访问序号，每次新增缓存时加1
+     */
+    private final AtomicLong clock = new AtomicLong();
+
+    /**
+     * 是否有线程正在淘汰
+     */
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    public JoinBoundedCache(int maxSize) {
+        Assert.isTrue(maxSize > 0, "bounded cache max size must be positive.");
+        this.maxSize = maxSize;
+        this.retainSize = maxSize - maxSize / 10;
+    }
+
+    /**
+     * 获取缓存
+     *
+     * @param key key
+     * @return 缓存，没有返回null
+     */
+    public V get(K key) {
+        CacheEntry<V> entry = cacheMap.get(key);
+        if (null == entry) {
+            return null;
+        }
+        this.touch(entry);
+        return entry.value;
+    }
+
+    /**
+     * 没有缓存时添加，超过上限时淘汰最久没有访问的缓存
+     *
+     * @param key   key
+     * @param value 缓存
+     * @return 已有的缓存，没有时返回null
+     */
+    public V putIfAbsent(K key, V value) {
+        CacheEntry<V> existing = cacheMap.putIfAbsent(key, new CacheEntry<>(value, clock.incrementAndGet()));
+        if (null != existing) {
+            this.touch(existing);
+            return existing.value;
+        }
+        if (cacheMap.size() > maxSize) {
+            this.evict();
+        }
+        return null;
+    }
+
+    /**
+     * 当前缓存数量
+     *
+     * @return 缓存数量
+     */
+    public int size() {
+        return cacheMap.size();
+    }
+
+    /**
+     * 清除全部缓存
+     */
+    public void clear() {
+        cacheMap.clear();
+    }
+
+    /**
+     * 记录访问，序号没有变化时不写入，减少多线程读取同一个缓存的写竞争
+     *
+     * @param entry 缓存
+     */
+    private void touch(CacheEntry<V> entry) {
+        long accessTime = clock.get();
+        if (entry.accessTime != accessTime) {
+            entry.accessTime = accessTime;
+        }
+    }
+
+    /**
+     * 淘汰最久没有访问的缓存到保留数量，已有线程在淘汰时直接返回
+     */
+    private void evict() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            //先记下访问序号再排序，排序期间序号变化不影响比较
+            List<Candidate<K, V>> candidateList = new ArrayList<>(cacheMap.size());
+            for (Map.Entry<K, CacheEntry<V>> entry : cacheMap.entrySet()) {
+                candidateList.add(new Candidate<>(entry.getKey(), entry.getValue()));
+            }
+            int evictSize = candidateList.size() - retainSize;
+            if (evictSize <= 0) {
+                return;
+            }
+            candidateList.sort(Comparator.comparingLong(candidate -> candidate.accessTime));
+            for (int i = 0; i < evictSize; i++) {
+                Candidate<K, V> candidate = candidateList.get(i);
+                cacheMap.remove(candidate.key, candidate.entry);
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    /**
+     * 缓存和最近访问的序号
+     */
+    private static final class CacheEntry<V> {
+
+        private final V value;
+
+        private volatile long accessTime;
+
+        private CacheEntry(V value, long accessTime) {
+            this.value = value;
+            this.accessTime = accessTime;
+        }
+    }
+
+    /**
+     * 淘汰候选，访问序号为记录时的值
+     */
+    private static final class Candidate<K, V> {
+
+        private final K key;
+
+        private final CacheEntry<V> entry;
+
+        private final long accessTime;
+
+        private Candidate(K key, CacheEntry<V> entry) {
+            this.key = key;
+            this.entry = entry;
+            this.accessTime = entry.accessTime;
+        }
+    }
+}
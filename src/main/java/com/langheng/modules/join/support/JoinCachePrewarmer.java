@@ -0,0 +1,42 @@
+package com.langheng.modules.join.support;
+
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/18 10:20 上午
+ * @description 连表字段缓存预热，需要时手动注册为bean启用
+ * <pre>
+ * &#64;Bean
+ * public JoinCachePrewarmer joinCachePrewarmer() {
+ *     return new JoinCachePrewarmer();
+ * }
+ * </pre>
+ */
+public class JoinCachePrewarmer implements ApplicationListener<ContextRefreshedEvent> {
+
+    /**
+     * 最近一次预热耗时（毫秒），未预热为 -1
+     */
+    private volatile long lastCostMillis = -1;
+
+    /**
+     * 容器刷新完成后，mybatis-plus的mapper和表信息都已加载，此时预热
+     *
+     * @param event 容器刷新事件
+     */
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        this.lastCostMillis = JoinLambdaUtil.prewarmCache();
+    }
+
+    /**
+     * 获取最近一次预热耗时
+     *
+     * @return 耗时（毫秒），未预热为 -1
+     */
+    public long getLastCostMillis() {
+        return lastCostMillis;
+    }
+}
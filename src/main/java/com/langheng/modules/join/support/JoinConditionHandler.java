@@ -0,0 +1,27 @@
+package com.langheng.modules.join.support;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/18 8:20 下午
+ * @description 连表查询附加条件处理器（如多租户、数据权限）<br>
+ * 生成sql时按表调用：主表的条件添加到 WHERE，连表的条件添加到连表的 ON 中，
+ * 已添加条件的语句由使用同一个处理器的 {@link com.langheng.modules.join.plugins.JoinTenantLineInnerInterceptor}、
+ * {@link com.langheng.modules.join.plugins.JoinDataPermissionInterceptor} 跳过解析<br>
+ * 通过 {@link JoinConditionRegistry#register(JoinConditionHandler)} 注册
+ */
+@FunctionalInterface
+public interface JoinConditionHandler {
+
+    /**
+     * 获取表的附加条件<br>
+     * 如:<br>
+     * 表:student;<br>
+     * 别名:s;<br>
+     * 结果 ==>  s.tenant_id = 1<br>
+     *
+     * @param tableName  表名
+     * @param tableAlias 表别名
+     * @return 附加条件，不需要添加条件时返回null或空字符串
+     */
+    String getCondition(String tableName, String tableAlias);
+}
@@ -0,0 +1,89 @@
+package com.langheng.modules.join.support;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.baomidou.mybatisplus.core.toolkit.Assert;
+import com.baomidou.mybatisplus.core.toolkit.StringPool;
+import com.baomidou.mybatisplus.core.toolkit.StringUtils;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/18 8:20 下午
+ * @description 连表查询附加条件处理器注册（全局）<br>
+ * <pre>
+ * JoinConditionRegistry.register(new TenantJoinConditionHandler(tenantLineHandler));
+ * </pre>
+ */
+public class JoinConditionRegistry {
+
+    /**
+     * 注册的条件处理器（按注册顺序生成条件）
+     */
+    private static final List<JoinConditionHandler> HANDLERS = new CopyOnWriteArrayList<>();
+
+    private JoinConditionRegistry() {
+    }
+
+    /**
+     * 注册条件处理器
+     *
+     * @param handler 条件处理器
+     */
+    public static void register(JoinConditionHandler handler) {
+        Assert.notNull(handler, "join condition handler can not be null.");
+        HANDLERS.add(handler);
+    }
+
+    /**
+     * 移除条件处理器
+     *
+     * @param handler 条件处理器
+     */
+    public static void unregister(JoinConditionHandler handler) {
+        HANDLERS.remove(handler);
+    }
+
+    /**
+     * 移除全部条件处理器
+     */
+    public static void clear() {
+        HANDLERS.clear();
+    }
+
+    /**
+     * 是否注册了条件处理器
+     *
+     * @return 是否注册
+     */
+    public static boolean isEmpty() {
+        return HANDLERS.isEmpty();
+    }
+
+    /**
+     * 获取表的附加条件，多个处理器的条件用 AND 连接
+     *
+     * @param tableName       表名
+     * @param tableAlias      表别名
+     * @param appliedHandlers 已调用的处理器，调用过的处理器添加到该集合（插件按处理器判断是否跳过解析）
+     * @return 附加条件，没有条件返回空字符串
+     */
+    public static String getCondition(String tableName, String tableAlias, Set<JoinConditionHandler> appliedHandlers) {
+        if (HANDLERS.isEmpty()) {
+            return StringPool.EMPTY;
+        }
+        StringBuilder condition = new StringBuilder();
+        for (JoinConditionHandler handler : HANDLERS) {
+            appliedHandlers.add(handler);
+            String handlerCondition = handler.getCondition(tableName, tableAlias);
+            if (StringUtils.isNotBlank(handlerCondition)) {
+                if (condition.length() > 0) {
+                    condition.append(" AND ");
+                }
+                condition.append(handlerCondition);
+            }
+        }
+        return condition.toString();
+    }
+}
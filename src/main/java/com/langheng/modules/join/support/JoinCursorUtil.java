@@ -0,0 +1,84 @@
+package com.langheng.modules.join.support;
+
+import java.io.IOException;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+
+import com.baomidou.mybatisplus.core.exceptions.MybatisPlusException;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/18 3:40 下午
+ * @description 连表流式查询工具，将mybatis的Cursor转换为Stream，关闭Stream时释放游标和会话
+ * <p>mapper层：</p>
+ * <pre>
+ * &#64;Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = JoinLambdaUtil.STREAM_FETCH_SIZE)
+ * &#64;Select(JoinLambdaUtil.SELECT_TEMPLATE)
+ * Cursor&lt;StudentVo&gt; findVoCursor(&#64;Param("ew") Wrapper&lt;?&gt; wrapper);
+ * </pre>
+ * <p>使用（必须关闭Stream）：</p>
+ * <pre>
+ * try (Stream&lt;StudentVo&gt; stream = JoinCursorUtil.stream(sqlSessionFactory, StudentMapper.class,
+ *         mapper -&gt; mapper.findVoCursor(lambdaJoinWrapper))) {
+ *     stream.forEach(writer::write);
+ * }
+ * </pre>
+ */
+public class JoinCursorUtil {
+
+    private JoinCursorUtil() {
+    }
+
+    /**
+     * 游标转Stream，关闭Stream时关闭游标 <br>
+     * 游标依赖的会话由调用方管理（如spring事务内）
+     *
+     * @param cursor 游标
+     * @param <E>    返回类型
+     * @return Stream
+     */
+    public static <E> Stream<E> stream(Cursor<E> cursor) {
+        return StreamSupport.stream(cursor.spliterator(), false)
+                .onClose(() -> close(cursor));
+    }
+
+    /**
+     * 打开独立会话执行游标查询，关闭Stream时依次关闭游标和会话
+     *
+     * @param sqlSessionFactory 会话工厂
+     * @param mapperClass       mapper类
+     * @param query             游标查询
+     * @param <M>               mapper类型
+     * @param <E>               返回类型
+     * @return Stream
+     */
+    public static <M, E> Stream<E> stream(SqlSessionFactory sqlSessionFactory, Class<M> mapperClass,
+                                          Function<M, Cursor<E>> query) {
+        SqlSession sqlSession = sqlSessionFactory.openSession();
+        try {
+            return stream(query.apply(sqlSession.getMapper(mapperClass)))
+                    .onClose(sqlSession::close);
+        } catch (RuntimeException e) {
+            sqlSession.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 关闭游标
+     *
+     * @param cursor 游标
+     */
+    private static void close(Cursor<?> cursor) {
+        try {
+            cursor.close();
+        } catch (IOException e) {
+            throw new MybatisPlusException(e);
+        }
+    }
+}
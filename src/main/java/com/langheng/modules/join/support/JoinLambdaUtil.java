@@ -1,13 +1,20 @@
 package com.langheng.modules.join.support;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -19,13 +26,14 @@ import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
 import com.baomidou.mybatisplus.core.metadata.TableInfo;
 import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
 import com.baomidou.mybatisplus.core.toolkit.Assert;
-import com.baomidou.mybatisplus.core.toolkit.CollectionUtils;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
 import com.baomidou.mybatisplus.core.toolkit.LambdaUtils;
 import com.baomidou.mybatisplus.core.toolkit.StringPool;
 import com.baomidou.mybatisplus.core.toolkit.StringUtils;
 import com.baomidou.mybatisplus.core.toolkit.support.ColumnCache;
 import com.baomidou.mybatisplus.core.toolkit.support.LambdaMeta;
 import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
+import com.langheng.modules.join.wrapper.AbstractJoinWrapper;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -41,7 +49,18 @@ public class JoinLambdaUtil {
     /**
      * 连表模版sql
      */
-    public static final String SELECT_TEMPLATE = "<script> SELECT ${ew.sqlSelect} FROM ${ew.tableName} ${ew.tableAlias} ${ew.joinPart} ${ew.customSqlSegment} \n</script>";
+    public static final String SELECT_TEMPLATE = "<script> SELECT ${ew.sqlSelect} FROM ${ew.fromTable} ${ew.tableAlias} ${ew.joinPart} ${ew.customSqlSegment} \n</script>";
+
+    /**
+     * 连表分页计数模版sql，由wrapper直接生成计数sql，分页时通过 page.setCountId 指定
+     */
+    public static final String COUNT_TEMPLATE = "<script> ${ew.countSql} \n</script>";
+
+    /**
+     * 流式查询每批获取行数，配合 ResultSetType.FORWARD_ONLY 使用 <br>
+     * mysql需要在连接参数中开启 useCursorFetch=true 才会按批获取 <br>
+     */
+    public static final int STREAM_FETCH_SIZE = 1000;
 
 
     /**
@@ -52,7 +71,51 @@ public class JoinLambdaUtil {
      * Map<'tableName',Map<'实体字段'，表字段>> <br>
      */
     private static final ConcurrentHashMap<Class<?>, Map<String, AlisColumnCache>> COLUMN_CACHE_MAP
-            = new ConcurrentHashMap<>(5);
+            = new ConcurrentHashMap<>(64);
+
+    /**
+     * 正在生成的类字段缓存任务，生成完成后移除 <br>
+     * Map<'实体类',生成任务> <br>
+     */
+    private static final ConcurrentHashMap<Class<?>, FutureTask<Map<String, AlisColumnCache>>> COLUMN_BUILD_TASK_MAP
+            = new ConcurrentHashMap<>(16);
+
+    /**
+     * lambda表达式解析缓存 <br>
+     * 同一处方法引用（如 Student::getName）生成的lambda实现类是唯一的，解析结果只与实现类有关 <br>
+     * 以lambda实现类为key缓存解析后的字段信息，避免每次都序列化lambda和反射解析 <br>
+     * Map<'lambda实现类',字段缓存> <br>
+     */
+    private static final ConcurrentHashMap<Class<?>, AlisColumnCache> LAMBDA_CACHE_MAP
+            = new ConcurrentHashMap<>(64);
+
+    /**
+     * 表名和唯一别名缓存 <br>
+     * Map<'tableName',别名> <br>
+     */
+    private static final ConcurrentHashMap<String, String> TABLE_ALIS_MAP
+            = new ConcurrentHashMap<>(16);
+
+    /**
+     * 表名和默认别名（可能重复）缓存 <br>
+     * Map<'tableName',别名> <br>
+     */
+    private static final ConcurrentHashMap<String, String> TABLE_DEFAULT_ALIS_MAP
+            = new ConcurrentHashMap<>(16);
+
+    /**
+     * 编译后的正则缓存 <br>
+     * Map<正则,编译后的正则> <br>
+     */
+    private static final ConcurrentHashMap<String, Pattern> PATTERN_CACHE_MAP
+            = new ConcurrentHashMap<>(8);
+
+    /**
+     * 逻辑删除正常条件缓存，实体类和别名确定后条件不会变化，没有逻辑删除字段的表缓存为空字符串 <br>
+     * Map<'实体类',Map<别名,逻辑删除条件>> <br>
+     */
+    private static final ConcurrentHashMap<Class<?>, Map<String, String>> LOGIC_DELETE_SQL_CACHE_MAP
+            = new ConcurrentHashMap<>(16);
 
     /**
      * 别名缓存类
@@ -66,72 +129,330 @@ public class JoinLambdaUtil {
      * @param aClass 缓存的类
      */
     public static void tryInitCache(Class<?> aClass) {
+        getColumnCacheMap(aClass);
+    }
+
+    /**
+     * 获取类的字段缓存，不存在则初始化<br>
+     * 按类初始化：每个类放入一个生成任务占位，在锁外生成，不同实体类之间互不阻塞，
+     * 同一个类并发首次初始化时只生成一次，其他线程等待该任务完成；生成失败时移除任务，下次重新生成<br>
+     * 已缓存时直接读取，不加锁<br>
+     *
+     * @param aClass 缓存的类
+     * @return Map<'实体字段'，表字段>
+     */
+    public static Map<String, AlisColumnCache> getColumnCacheMap(Class<?> aClass) {
         //查看缓存中是否存在
-        if (!COLUMN_CACHE_MAP.containsKey(aClass)) {
-            initCache(aClass);
+        Map<String, AlisColumnCache> alisColumnMap = COLUMN_CACHE_MAP.get(aClass);
+        if (null != alisColumnMap) {
+            return alisColumnMap;
+        }
+        FutureTask<Map<String, AlisColumnCache>> task = new FutureTask<>(() -> {
+            //其他线程可能已生成完成并移除了任务
+            Map<String, AlisColumnCache> cached = COLUMN_CACHE_MAP.get(aClass);
+            return null != cached ? cached : buildCache(aClass);
+        });
+        FutureTask<Map<String, AlisColumnCache>> buildTask = COLUMN_BUILD_TASK_MAP.putIfAbsent(aClass, task);
+        if (null != buildTask) {
+            return getBuildResult(buildTask);
+        }
+        try {
+            task.run();
+            alisColumnMap = getBuildResult(task);
+            Map<String, AlisColumnCache> cached = COLUMN_CACHE_MAP.putIfAbsent(aClass, alisColumnMap);
+            return null != cached ? cached : alisColumnMap;
+        } finally {
+            COLUMN_BUILD_TASK_MAP.remove(aClass, task);
         }
     }
 
     /**
-     * 加锁保证初始化缓存唯一性
+     * 获取生成任务的字段缓存，任务未完成时等待
+     *
+     * @param task 生成任务
+     * @return Map<'实体字段'，表字段>
+     */
+    private static Map<String, AlisColumnCache> getBuildResult(FutureTask<Map<String, AlisColumnCache>> task) {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MybatisPlusException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new MybatisPlusException(cause);
+        }
+    }
+
+    /**
+     * 生成类的字段缓存
      *
      * @param aClass 初始化缓存类
+     * @return Map<'实体字段'，表字段>
      */
-    private synchronized static void initCache(Class<?> aClass) {
+    private static Map<String, AlisColumnCache> buildCache(Class<?> aClass) {
         TableInfo tableInfo = TableInfoHelper.getTableInfo(aClass);
         //为空，则是不是在TableInfo缓存中，就不是数据库表
         if (null == tableInfo) {
             log.error("该类不是数据库表的映射类，请确认该类：{}", aClass.getName());
             throw new IllegalStateException(
-                    MessageFormat.format("this class is not mapped dataBase table list,please check this class:{}",
+                    MessageFormat.format("this class is not mapped dataBase table list,please check this class:{0}",
                             aClass.getName()));
-        } else {
-            //获取字段数据，放入缓存
-            Map<String, ColumnCache> columnMap = LambdaUtils.getColumnMap(aClass);
-            Map<String, AlisColumnCache> alisColumnMap = new ConcurrentHashMap<>(columnMap.size());
-            //获取表别名
-            String tableAlis = tableNameToUniqueTableAlias(tableInfo.getTableName());
-            //将字段和属性遍历放入缓存
-            columnMap.forEach((property, columnCache) -> {
-                String column = columnCache.getColumn();
-                alisColumnMap.put(property,
-                        new AlisColumnCache(
-                                String.join(StringPool.DOT, tableAlis, column),
-                                tableAlis,
-                                column,
-                                columnCache.getColumnSelect()
-                        )
-                );
-            });
-            COLUMN_CACHE_MAP.put(aClass, alisColumnMap);
         }
+        //获取字段数据，放入缓存
+        Map<String, ColumnCache> columnMap = LambdaUtils.getColumnMap(aClass);
+        Map<String, AlisColumnCache> alisColumnMap = new HashMap<>(columnMap.size() * 4 / 3 + 1);
+        //获取表别名
+        String tableAlis = tableNameToUniqueTableAlias(tableInfo.getTableName());
+        //缓存key（大写属性名）和属性名
+        Map<String, String> propertyMap = new HashMap<>(columnMap.size() * 4 / 3 + 1);
+        if (tableInfo.havePK()) {
+            propertyMap.put(LambdaUtils.formatKey(tableInfo.getKeyProperty()), tableInfo.getKeyProperty());
+        }
+        tableInfo.getFieldList().forEach(tableFieldInfo ->
+                propertyMap.put(LambdaUtils.formatKey(tableFieldInfo.getProperty()), tableFieldInfo.getProperty()));
+        //将字段和属性遍历放入缓存
+        columnMap.forEach((property, columnCache) -> {
+            String column = columnCache.getColumn();
+            alisColumnMap.put(property,
+                    new AlisColumnCache(
+                            String.join(StringPool.DOT, tableAlis, column),
+                            tableAlis,
+                            column,
+                            columnCache.getColumnSelect(),
+                            aClass,
+                            propertyMap.getOrDefault(property, property)
+                    )
+            );
+        });
+        //初始化完成后只读
+        return Collections.unmodifiableMap(alisColumnMap);
+    }
+
+    /**
+     * 预热连表字段缓存<br>
+     * 遍历mybatis-plus已加载的全部表信息（TableInfo），并行生成字段缓存，避免上线后首批请求承担初始化开销<br>
+     * 需在mybatis-plus加载完mapper之后调用，重复调用只会初始化尚未缓存的类<br>
+     *
+     * @return 预热耗时（毫秒）
+     */
+    public static long prewarmCache() {
+        long start = System.currentTimeMillis();
+        List<TableInfo> tableInfos = TableInfoHelper.getTableInfos();
+        //按表名顺序分配唯一别名，保证每次启动的别名相同
+        tableInfos.stream()
+                .map(TableInfo::getTableName)
+                .sorted()
+                .forEach(JoinLambdaUtil::tableNameToUniqueTableAlias);
+        long count = tableInfos.parallelStream()
+                .map(TableInfo::getEntityType)
+                .filter(entityType -> {
+                    try {
+                        tryInitCache(entityType);
+                        return true;
+                    } catch (RuntimeException e) {
+                        log.warn("连表字段缓存预热失败，类：{}", entityType.getName(), e);
+                        return false;
+                    }
+                })
+                .count();
+        long cost = System.currentTimeMillis() - start;
+        log.info("连表字段缓存预热完成，表数量：{}/{}，耗时：{}ms", count, tableInfos.size(), cost);
+        return cost;
     }
 
     /**
      * 通过表名获取别名，唯一别名<br>
-     * 用后缀序号区分，可能表的加载会改变别名<br>
-     * 暂无策略固定表别名重复时，所生成的序号每次启动都相同，即每次启动，表别名可能不一样<br>
+     * 同一个表名始终使用同一个别名；不同表的别名重复时用后缀序号区分（如 su、su1），序号与表的首次加载顺序有关<br>
+     * 预热（{@link #prewarmCache()}）时按表名排序分配别名，每次启动的别名相同<br>
      *
      * @param tableName 表名
      * @return 返回唯一别名
      */
     private static String tableNameToUniqueTableAlias(String tableName) {
+        String alis = TABLE_ALIS_MAP.get(tableName);
+        if (null != alis) {
+            return alis;
+        }
         //通过表名获取别名
-        String alis = tableNameToTableAlias(tableName);
-        if (ALIS_SET.contains(alis)) {
-            int i = 1;
-            do {
-                //重复别名后缀加1
-                alis += alis + i;
-                i++;
-            } while (ALIS_SET.contains(alis));
-            ALIS_SET.add(alis);
+        String tableAlis = tableNameToTableAlias(tableName);
+        alis = tableAlis;
+        int i = 1;
+        //占用别名，重复别名后缀加1
+        while (!ALIS_SET.add(alis)) {
+            alis = tableAlis + i;
+            i++;
+        }
+        //并发时以先放入的别名为准，释放占用的别名
+        String existAlis = TABLE_ALIS_MAP.putIfAbsent(tableName, alis);
+        if (null != existAlis) {
+            ALIS_SET.remove(alis);
+            return existAlis;
         }
         return alis;
     }
 
     public static AlisColumnCache getAlisColumnCache(String fieldName, Class<?> aClass) {
-        return COLUMN_CACHE_MAP.get(aClass).get(LambdaUtils.formatKey(fieldName));
+        return getColumnCacheMap(aClass).get(LambdaUtils.formatKey(fieldName));
+    }
+
+    /**
+     * 获取lambda表达式对应的字段缓存，优先从lambda解析缓存中获取
+     *
+     * @param column 类属性的lambda表达式，如 Student::getName
+     * @return 字段缓存
+     */
+    public static AlisColumnCache getAlisColumnCache(SFunction<?, ?> column) {
+        Class<?> lambdaClass = column.getClass();
+        AlisColumnCache alisColumnCache = LAMBDA_CACHE_MAP.get(lambdaClass);
+        if (null == alisColumnCache) {
+            alisColumnCache = resolveAlisColumnCache(column);
+            LAMBDA_CACHE_MAP.putIfAbsent(lambdaClass, alisColumnCache);
+        }
+        return alisColumnCache;
+    }
+
+    /**
+     * 解析lambda表达式，获取字段缓存
+     *
+     * @param column 类属性的lambda表达式
+     * @return 字段缓存
+     */
+    private static AlisColumnCache resolveAlisColumnCache(SFunction<?, ?> column) {
+        //解析表达式
+        LambdaMeta lambdaMeta = LambdaUtils.extract(column);
+        //获取属性名
+        String fieldName = PropertyNamer.methodToProperty(lambdaMeta.getImplMethodName());
+        //获取实体类类型
+        Class<?> instantiatedClass = lambdaMeta.getInstantiatedClass();
+        AlisColumnCache alisColumnCache = getAlisColumnCache(fieldName, instantiatedClass);
+        if (null == alisColumnCache) {
+            throw new MybatisPlusException(
+                    MessageFormat.format("can not find column for property [{0}] in class [{1}]",
+                            fieldName, instantiatedClass.getName()));
+        }
+        return alisColumnCache;
+    }
+
+    /**
+     * 计算sql的结构hash（md5），相同结构的sql结果相同
+     *
+     * @param sql sql
+     * @return 32位十六进制md5
+     */
+    public static String shapeHash(String sql) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(sql.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16))
+                        .append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new MybatisPlusException(e);
+        }
+    }
+
+    /**
+     * sql中是否引用了表别名（出现 alis.xxx 且别名前不是标识符字符）
+     *
+     * @param sql  sql片段
+     * @param alis 表别名
+     * @return 是否引用
+     */
+    public static boolean isAliasReferenced(String sql, String alis) {
+        if (StringUtils.isBlank(sql) || StringUtils.isBlank(alis)) {
+            return false;
+        }
+        String prefix = alis + StringPool.DOT;
+        int index = sql.indexOf(prefix);
+        while (index >= 0) {
+            if (index == 0 || !isIdentifierChar(sql.charAt(index - 1))) {
+                return true;
+            }
+            index = sql.indexOf(prefix, index + 1);
+        }
+        return false;
+    }
+
+    /**
+     * sql中是否有不带别名的列（列前后都不是标识符字符，且前面不是 .）
+     *
+     * @param sql    sql片段
+     * @param column 列名
+     * @return 是否引用
+     */
+    public static boolean isColumnReferenced(String sql, String column) {
+        if (StringUtils.isBlank(sql) || StringUtils.isBlank(column)) {
+            return false;
+        }
+        int index = sql.indexOf(column);
+        while (index >= 0) {
+            int end = index + column.length();
+            boolean isStart = index == 0 || (sql.charAt(index - 1) != '.' && !isIdentifierChar(sql.charAt(index - 1)));
+            boolean isEnd = end == sql.length() || !isIdentifierChar(sql.charAt(end));
+            if (isStart && isEnd) {
+                return true;
+            }
+            index = sql.indexOf(column, index + 1);
+        }
+        return false;
+    }
+
+    /**
+     * sql片段中是否有子查询（出现不区分大小写的 SELECT 关键字，前后都不是标识符字符）<br>
+     * 如 inSql、exists、apply 传入的原生子查询
+     *
+     * @param sql sql片段
+     * @return 是否有子查询
+     */
+    public static boolean isSubQuery(String sql) {
+        if (StringUtils.isBlank(sql)) {
+            return false;
+        }
+        String keyword = "select";
+        int last = sql.length() - keyword.length();
+        for (int index = 0; index <= last; index++) {
+            if (sql.regionMatches(true, index, keyword, 0, keyword.length())
+                    && (index == 0 || !isIdentifierChar(sql.charAt(index - 1)))
+                    && (index == last || !isIdentifierChar(sql.charAt(index + keyword.length())))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 从mapper参数中获取连表wrapper（ew）
+     *
+     * @param parameterObject 参数
+     * @return 连表wrapper，没有返回null
+     */
+    public static AbstractJoinWrapper<?, ?, ?> getJoinWrapper(Object parameterObject) {
+        if (parameterObject instanceof Map && ((Map<?, ?>) parameterObject).containsKey(Constants.WRAPPER)) {
+            Object wrapper = ((Map<?, ?>) parameterObject).get(Constants.WRAPPER);
+            if (wrapper instanceof AbstractJoinWrapper) {
+                return (AbstractJoinWrapper<?, ?, ?>) wrapper;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 是否为sql标识符字符
+     *
+     * @param c 字符
+     * @return 是否标识符字符
+     */
+    private static boolean isIdentifierChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$';
     }
 
     /**
@@ -141,17 +462,53 @@ public class JoinLambdaUtil {
      * @return 别名
      */
     public static String tableNameToTableAlias(String tableName) {
-        List<String> resultList = JoinLambdaUtil.findAll("_(\\w)", tableName, 1);
+        String alis = TABLE_DEFAULT_ALIS_MAP.get(tableName);
+        if (null == alis) {
+            alis = buildTableAlias(tableName);
+            TABLE_DEFAULT_ALIS_MAP.putIfAbsent(tableName, alis);
+        }
+        return alis;
+    }
+
+    /**
+     * 生成别名：表名首字母和每个下划线后的第一个字符（同正则 _(\w) 的匹配结果）
+     *
+     * @param tableName 数据库表名
+     * @return 别名
+     */
+    private static String buildTableAlias(String tableName) {
+        StringBuilder stringBuilder = null;
+        int length = tableName.length();
+        int i = 0;
+        while (i < length) {
+            if (tableName.charAt(i) == '_' && i + 1 < length && isWordChar(tableName.charAt(i + 1))) {
+                if (null == stringBuilder) {
+                    stringBuilder = new StringBuilder(tableName.substring(0, 1));
+                }
+                stringBuilder.append(tableName.charAt(i + 1));
+                i += 2;
+            } else {
+                i++;
+            }
+        }
         //如果未找到匹配项，则直接使用表名的前3个字符（不含下划线）作为别名
-        if (CollectionUtils.isEmpty(resultList)) {
-            tableName = tableName.replace("_", "");
-            return tableName.length() >= 3 ? tableName.substring(0, 3) : tableName;
+        if (null == stringBuilder) {
+            String name = tableName.replace("_", "");
+            return name.length() >= 3 ? name.substring(0, 3) : name;
         }
-        final StringBuilder stringBuilder = new StringBuilder(tableName.substring(0, 1));
-        resultList.forEach(stringBuilder::append);
         return stringBuilder.toString();
     }
 
+    /**
+     * 是否正则的单词字符（\w：字母、数字、下划线）
+     *
+     * @param c 字符
+     * @return 是否单词字符
+     */
+    private static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
 
     /**
      * 取得内容中匹配的所有结果
@@ -162,8 +519,12 @@ public class JoinLambdaUtil {
      * @return 结果集
      */
     public static ArrayList<String> findAll(String regex, CharSequence content, int group) {
-        //编译后的正则模式
-        Pattern pattern = Pattern.compile(regex, Pattern.DOTALL);
+        //编译后的正则模式（缓存）
+        Pattern pattern = PATTERN_CACHE_MAP.get(regex);
+        if (null == pattern) {
+            pattern = Pattern.compile(regex, Pattern.DOTALL);
+            PATTERN_CACHE_MAP.putIfAbsent(regex, pattern);
+        }
 
         //返回的集合类型
         ArrayList<String> collection = new ArrayList<>();
@@ -290,6 +651,56 @@ public class JoinLambdaUtil {
      * @return 返回结果
      */
     public static String andNormalSql(String alis, TableInfo tableInfo) {
+        return " AND " + normalSql(alis, tableInfo) + StringPool.SPACE;
+    }
+
+    /**
+     * 获取实体类（clazz）以别名（alis）查询时的逻辑删除正常条件（缓存），不带连接符<br>
+     * 如:<br>
+     * 表:student;<br>
+     * 别名:s;<br>
+     * 逻辑删除字段(@TableLogic修饰): status;<br>
+     * 结果 ==>  s.status = '0'<br>
+     *
+     * @param clazz 实体类
+     * @param alis  别名
+     * @return 逻辑删除条件，没有表信息或没有逻辑删除字段返回空字符串
+     */
+    public static String getNormalSql(Class<?> clazz, String alis) {
+        Map<String, String> alisSqlMap = LOGIC_DELETE_SQL_CACHE_MAP.get(clazz);
+        if (null == alisSqlMap) {
+            alisSqlMap = new ConcurrentHashMap<>(4);
+            Map<String, String> existAlisSqlMap = LOGIC_DELETE_SQL_CACHE_MAP.putIfAbsent(clazz, alisSqlMap);
+            if (null != existAlisSqlMap) {
+                alisSqlMap = existAlisSqlMap;
+            }
+        }
+        String logicDeleteSql = alisSqlMap.get(alis);
+        if (null == logicDeleteSql) {
+            TableInfo tableInfo = TableInfoHelper.getTableInfo(clazz);
+            //表信息在mapper注册时生成，没有表信息时不缓存
+            if (null == tableInfo) {
+                return StringPool.EMPTY;
+            }
+            logicDeleteSql = tableInfo.isWithLogicDelete() ? normalSql(alis, tableInfo) : StringPool.EMPTY;
+            alisSqlMap.putIfAbsent(alis, logicDeleteSql);
+        }
+        return logicDeleteSql;
+    }
+
+    /**
+     * 获取查询表（tableInfo）逻辑删除正常条件，不带连接符<br>
+     * 如:<br>
+     * 表:student;<br>
+     * 别名:s;<br>
+     * 逻辑删除字段(@TableLogic修饰): status;<br>
+     * 结果 ==>  s.status = '0'<br>
+     *
+     * @param alis      别名
+     * @param tableInfo 表缓存信息
+     * @return 返回结果
+     */
+    public static String normalSql(String alis, TableInfo tableInfo) {
         //获取缓存表的逻辑删除字段
         TableFieldInfo logicDeleteFieldInfo = tableInfo
                 .getLogicDeleteFieldInfo();
@@ -303,6 +714,6 @@ public class JoinLambdaUtil {
         } else {
             logicDeleteSql = logicDeleteFieldInfo.getColumn() + StringPool.EQUALS + String.format(logicDeleteFieldInfo.isCharSequence() ? "'%s'" : "%s", value);
         }
-        return String.format(" AND %s.%s ", alis, logicDeleteSql);
+        return alis + StringPool.DOT + logicDeleteSql;
     }
 }
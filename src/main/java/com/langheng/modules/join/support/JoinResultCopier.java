@@ -0,0 +1,162 @@
+package com.langheng.modules.join.support;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.baomidou.mybatisplus.core.exceptions.MybatisPlusException;
+import com.baomidou.mybatisplus.core.toolkit.ReflectionKit;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/18 11:40 下午
+ * @description 结果缓存的dto复制：缓存时保存一份复制，命中时再返回一份复制，调用方修改dto不影响缓存<br>
+ * 按dto类缓存可复制的字段：dto需要有无参构造，字段为基本类型、不可变类型（字符串、数字、枚举、java.time）或Date（复制一份）；
+ * 有其他字段（集合、数组、嵌套对象、final字段）的dto无法安全复制，不缓存
+ */
+public class JoinResultCopier {
+
+    /**
+     * 无法复制的dto类的占位
+     */
+    private static final Object UNSUPPORTED = new Object();
+
+    /**
+     * dto类的复制信息 <br>
+     * Map<dto类,复制信息> <br>
+     */
+    private static final Map<Class<?>, Object> COPIER_CACHE_MAP = new ConcurrentHashMap<>(16);
+
+    /**
+     * dto无参构造
+     */
+    private final Constructor<?> constructor;
+
+    /**
+     * 复制的字段
+     */
+    private final Field[] fields;
+
+    private JoinResultCopier(Constructor<?> constructor, Field[] fields) {
+        this.constructor = constructor;
+        this.fields = fields;
+    }
+
+    /**
+     * 复制查询结果
+     *
+     * @param result 查询结果
+     * @return 复制的结果，有无法复制的元素时返回null
+     */
+    public static List<Object> copy(List<?> result) {
+        List<Object> copyList = new ArrayList<>(result.size());
+        for (Object element : result) {
+            if (null == element || isImmutable(element.getClass())) {
+                copyList.add(element);
+                continue;
+            }
+            if (element instanceof Date) {
+                copyList.add(((Date) element).clone());
+                continue;
+            }
+            JoinResultCopier copier = getCopier(element.getClass());
+            if (null == copier) {
+                return null;
+            }
+            copyList.add(copier.copy(element));
+        }
+        return copyList;
+    }
+
+    /**
+     * 获取dto类的复制信息
+     *
+     * @param dtoClass dto类
+     * @return 复制信息，无法复制返回null
+     */
+    private static JoinResultCopier getCopier(Class<?> dtoClass) {
+        Object copier = COPIER_CACHE_MAP.get(dtoClass);
+        if (null == copier) {
+            copier = build(dtoClass);
+            COPIER_CACHE_MAP.putIfAbsent(dtoClass, null == copier ? UNSUPPORTED : copier);
+        }
+        return UNSUPPORTED == copier ? null : (JoinResultCopier) copier;
+    }
+
+    /**
+     * 生成dto类的复制信息
+     *
+     * @param dtoClass dto类
+     * @return 复制信息，无法复制返回null
+     */
+    private static JoinResultCopier build(Class<?> dtoClass) {
+        if (dtoClass.isArray() || dtoClass.isInterface() || Modifier.isAbstract(dtoClass.getModifiers())) {
+            return null;
+        }
+        Constructor<?> constructor;
+        try {
+            constructor = dtoClass.getDeclaredConstructor();
+            constructor.setAccessible(true);
+        } catch (NoSuchMethodException | SecurityException e) {
+            return null;
+        }
+        List<Field> fieldList = ReflectionKit.getFieldList(dtoClass);
+        Field[] fields = new Field[fieldList.size()];
+        for (int i = 0; i < fields.length; i++) {
+            Field field = fieldList.get(i);
+            Class<?> type = field.getType();
+            if (Modifier.isFinal(field.getModifiers())
+                    || !(type.isPrimitive() || isImmutable(type) || Date.class.isAssignableFrom(type))) {
+                return null;
+            }
+            try {
+                field.setAccessible(true);
+            } catch (SecurityException e) {
+                return null;
+            }
+            fields[i] = field;
+        }
+        return new JoinResultCopier(constructor, fields);
+    }
+
+    /**
+     * 复制dto
+     *
+     * @param dto dto
+     * @return 复制的dto
+     */
+    private Object copy(Object dto) {
+        try {
+            Object copy = constructor.newInstance();
+            for (Field field : fields) {
+                Object value = field.get(dto);
+                field.set(copy, value instanceof Date ? ((Date) value).clone() : value);
+            }
+            return copy;
+        } catch (ReflectiveOperationException e) {
+            throw new MybatisPlusException("failed to copy cached result of " + dto.getClass().getName() + ".", e);
+        }
+    }
+
+    /**
+     * 是否为不可变类型
+     *
+     * @param type 类型
+     * @return 是否不可变
+     */
+    private static boolean isImmutable(Class<?> type) {
+        return String.class == type || Boolean.class == type || Character.class == type || Enum.class.isAssignableFrom(type)
+                || BigDecimal.class == type || BigInteger.class == type || UUID.class == type
+                || (Number.class.isAssignableFrom(type) && type.getName().startsWith("java.lang."))
+                || (TemporalAccessor.class.isAssignableFrom(type) && type.getName().startsWith("java.time."));
+    }
+}
@@ -0,0 +1,198 @@
+package com.langheng.modules.join.support;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.ibatis.reflection.Reflector;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.TypeHandler;
+import org.apache.ibatis.type.TypeHandlerRegistry;
+
+import com.baomidou.mybatisplus.core.toolkit.ReflectionKit;
+import com.baomidou.mybatisplus.core.toolkit.StringPool;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/18 9:50 下午
+ * @description 连表查询dto行映射器：按列序号读取，通过MethodHandle赋值，映射规则同mybatis自动映射<br>
+ * 列和dto属性的对应关系、TypeHandler、setter在编译时确定，每行只按序号读取列并赋值，
+ * 由 {@link com.langheng.modules.join.plugins.JoinResultMapperInterceptor} 按（查询列，dto类）缓存使用
+ */
+public class JoinRowMapper {
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    /**
+     * dto无参构造
+     */
+    private final MethodHandle constructor;
+
+    /**
+     * 列序号（从1开始）
+     */
+    private final int[] columnIndexes;
+
+    /**
+     * 列的TypeHandler
+     */
+    private final TypeHandler<?>[] typeHandlers;
+
+    /**
+     * 属性赋值，(Object dto, Object value) -> void
+     */
+    private final MethodHandle[] setters;
+
+    /**
+     * 所有列都为null时是否返回空的dto（同mybatis returnInstanceForEmptyRow）
+     */
+    private final boolean isReturnInstanceForEmptyRow;
+
+    private JoinRowMapper(MethodHandle constructor, int[] columnIndexes, TypeHandler<?>[] typeHandlers,
+                          MethodHandle[] setters, boolean isReturnInstanceForEmptyRow) {
+        this.constructor = constructor;
+        this.columnIndexes = columnIndexes;
+        this.typeHandlers = typeHandlers;
+        this.setters = setters;
+        this.isReturnInstanceForEmptyRow = isReturnInstanceForEmptyRow;
+    }
+
+    /**
+     * 按结果集的列编译dto行映射器
+     *
+     * @param configuration mybatis配置
+     * @param metaData      结果集的列信息
+     * @param dtoClass      dto类
+     * @return 行映射器，dto没有无参构造或有列无法确定TypeHandler时返回null（使用mybatis默认映射）
+     * @throws SQLException 读取列信息失败
+     */
+    public static JoinRowMapper compile(Configuration configuration, ResultSetMetaData metaData, Class<?> dtoClass)
+            throws SQLException {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle constructor;
+        try {
+            Constructor<?> dtoConstructor = dtoClass.getDeclaredConstructor();
+            dtoConstructor.setAccessible(true);
+            constructor = lookup.unreflectConstructor(dtoConstructor).asType(MethodType.methodType(Object.class));
+        } catch (NoSuchMethodException | IllegalAccessException | SecurityException e) {
+            return null;
+        }
+        Reflector reflector = configuration.getReflectorFactory().findForClass(dtoClass);
+        TypeHandlerRegistry typeHandlerRegistry = configuration.getTypeHandlerRegistry();
+        int columnCount = metaData.getColumnCount();
+        List<Integer> columnIndexList = new ArrayList<>(columnCount);
+        List<TypeHandler<?>> typeHandlerList = new ArrayList<>(columnCount);
+        List<MethodHandle> setterList = new ArrayList<>(columnCount);
+        for (int i = 1; i <= columnCount; i++) {
+            //同mybatis自动映射：列名（去掉下划线）不区分大小写对应属性，没有对应属性的列跳过
+            String columnName = configuration.isUseColumnLabel() ? metaData.getColumnLabel(i) : metaData.getColumnName(i);
+            String property = reflector.findPropertyName(configuration.isMapUnderscoreToCamelCase() ?
+                    columnName.replace(StringPool.UNDERSCORE, StringPool.EMPTY) : columnName);
+            if (null == property || !reflector.hasSetter(property)) {
+                continue;
+            }
+            Class<?> propertyType = reflector.getSetterType(property);
+            TypeHandler<?> typeHandler = typeHandlerRegistry.getTypeHandler(propertyType, JdbcType.forCode(metaData.getColumnType(i)));
+            if (null == typeHandler) {
+                typeHandler = typeHandlerRegistry.getTypeHandler(propertyType);
+            }
+            MethodHandle setter = getSetter(lookup, dtoClass, property, propertyType);
+            if (null == typeHandler || null == setter) {
+                return null;
+            }
+            columnIndexList.add(i);
+            typeHandlerList.add(typeHandler);
+            setterList.add(setter);
+        }
+        int[] columnIndexes = new int[columnIndexList.size()];
+        for (int i = 0; i < columnIndexes.length; i++) {
+            columnIndexes[i] = columnIndexList.get(i);
+        }
+        return new JoinRowMapper(constructor, columnIndexes, typeHandlerList.toArray(new TypeHandler<?>[0]),
+                setterList.toArray(new MethodHandle[0]), configuration.isReturnInstanceForEmptyRow());
+    }
+
+    /**
+     * 获取属性的赋值方法：优先使用setter，没有setter时直接给字段赋值
+     *
+     * @param lookup       lookup
+     * @param dtoClass     dto类
+     * @param property     属性名
+     * @param propertyType 属性类型
+     * @return (Object dto, Object value) -> void，获取失败返回null
+     */
+    private static MethodHandle getSetter(MethodHandles.Lookup lookup, Class<?> dtoClass, String property,
+                                          Class<?> propertyType) {
+        String setterName = "set" + Character.toUpperCase(property.charAt(0)) + property.substring(1);
+        try {
+            Method method = dtoClass.getMethod(setterName, propertyType);
+            return lookup.unreflect(method).asType(SETTER_TYPE);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            Field field = ReflectionKit.getFieldMap(dtoClass).get(property);
+            if (null == field) {
+                return null;
+            }
+            try {
+                field.setAccessible(true);
+                return lookup.unreflectSetter(field).asType(SETTER_TYPE);
+            } catch (IllegalAccessException | SecurityException ex) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * 映射结果集的全部行
+     *
+     * @param resultSet 结果集
+     * @return dto集合
+     * @throws SQLException 读取结果失败
+     */
+    public List<Object> mapRows(ResultSet resultSet) throws SQLException {
+        List<Object> list = new ArrayList<>();
+        while (resultSet.next()) {
+            list.add(this.mapRow(resultSet));
+        }
+        return list;
+    }
+
+    /**
+     * 映射当前行
+     *
+     * @param resultSet 结果集
+     * @return dto，所有列都为null时同mybatis返回null或空的dto
+     * @throws SQLException 读取结果失败
+     */
+    public Object mapRow(ResultSet resultSet) throws SQLException {
+        Object dto;
+        try {
+            dto = constructor.invokeExact();
+        } catch (Throwable e) {
+            throw new SQLException("failed to create result object.", e);
+        }
+        boolean isFoundValue = false;
+        for (int i = 0; i < columnIndexes.length; i++) {
+            Object value = typeHandlers[i].getResult(resultSet, columnIndexes[i]);
+            //同mybatis：null值不赋值（基本类型保持默认值）
+            if (null == value) {
+                continue;
+            }
+            isFoundValue = true;
+            try {
+                setters[i].invokeExact(dto, value);
+            } catch (Throwable e) {
+                throw new SQLException("failed to set result column " + columnIndexes[i] + ".", e);
+            }
+        }
+        return isFoundValue || isReturnInstanceForEmptyRow ? dto : null;
+    }
+}
@@ -0,0 +1,74 @@
+package com.langheng.modules.join.support;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import com.baomidou.mybatisplus.core.exceptions.MybatisPlusException;
+import com.baomidou.mybatisplus.core.toolkit.StringUtils;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/18 5:05 下午
+ * @description 游标分页（seek）续页令牌：排序字段最后一行的值，JSON数组后按base64url编码，对调用方不透明
+ */
+public class JoinSeekToken {
+
+    /**
+     * 注册classpath中的jackson模块（如java8时间类型）
+     */
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().findAndRegisterModules();
+
+    private JoinSeekToken() {
+    }
+
+    /**
+     * 编码续页令牌
+     *
+     * @param values 排序字段的值
+     * @return 续页令牌
+     */
+    public static String encode(List<Object> values) {
+        try {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(OBJECT_MAPPER.writeValueAsBytes(values));
+        } catch (IOException e) {
+            throw new MybatisPlusException(e);
+        }
+    }
+
+    /**
+     * 解码续页令牌，按排序字段的类型转换值
+     *
+     * @param token 续页令牌
+     * @param types 排序字段的类型
+     * @return 排序字段的值，令牌为空返回空集合
+     */
+    public static List<Object> decode(String token, List<Class<?>> types) {
+        List<Object> values = new ArrayList<>(types.size());
+        if (StringUtils.isBlank(token)) {
+            return values;
+        }
+        JsonNode jsonNode;
+        try {
+            jsonNode = OBJECT_MAPPER.readTree(Base64.getUrlDecoder().decode(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (IOException | IllegalArgumentException e) {
+            throw new MybatisPlusException("invalid continuation token: " + token);
+        }
+        if (null == jsonNode || !jsonNode.isArray() || jsonNode.size() != types.size()) {
+            throw new MybatisPlusException("invalid continuation token: " + token);
+        }
+        for (int i = 0; i < types.size(); i++) {
+            JsonNode valueNode = jsonNode.get(i);
+            if (valueNode.isNull()) {
+                throw new MybatisPlusException("invalid continuation token: " + token);
+            }
+            values.add(OBJECT_MAPPER.convertValue(valueNode, types.get(i)));
+        }
+        return values;
+    }
+}
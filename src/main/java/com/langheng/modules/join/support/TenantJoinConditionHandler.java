@@ -0,0 +1,37 @@
+package com.langheng.modules.join.support;
+
+import com.baomidou.mybatisplus.core.toolkit.Assert;
+import com.baomidou.mybatisplus.core.toolkit.StringPool;
+import com.baomidou.mybatisplus.extension.plugins.handler.TenantLineHandler;
+
+import net.sf.jsqlparser.expression.Expression;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/18 8:20 下午
+ * @description 多租户条件处理器，使用mybatis-plus多租户插件的 {@link TenantLineHandler}<br>
+ * 忽略的表（ignoreTable）不添加条件，其他表添加 别名.租户字段 = 租户id
+ */
+public class TenantJoinConditionHandler implements JoinConditionHandler {
+
+    private final TenantLineHandler tenantLineHandler;
+
+    public TenantJoinConditionHandler(TenantLineHandler tenantLineHandler) {
+        Assert.notNull(tenantLineHandler, "tenant line handler can not be null.");
+        this.tenantLineHandler = tenantLineHandler;
+    }
+
+    public TenantLineHandler getTenantLineHandler() {
+        return tenantLineHandler;
+    }
+
+    @Override
+    public String getCondition(String tableName, String tableAlias) {
+        if (tenantLineHandler.ignoreTable(tableName)) {
+            return null;
+        }
+        Expression tenantId = tenantLineHandler.getTenantId();
+        Assert.notNull(tenantId, "tenant id can not be null of table [%s].", tableName);
+        return tableAlias + StringPool.DOT + tenantLineHandler.getTenantIdColumn() + StringPool.EQUALS + tenantId;
+    }
+}
@@ -4,19 +4,35 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.session.Configuration;
+
+import com.baomidou.mybatisplus.annotation.DbType;
 import com.baomidou.mybatisplus.annotation.TableField;
 import com.baomidou.mybatisplus.core.conditions.AbstractWrapper;
+import com.baomidou.mybatisplus.core.conditions.ISqlSegment;
 import com.baomidou.mybatisplus.core.conditions.SharedString;
 import com.baomidou.mybatisplus.core.conditions.query.Query;
+import com.baomidou.mybatisplus.core.conditions.segments.NormalSegmentList;
+import com.baomidou.mybatisplus.core.enums.SqlKeyword;
+import com.baomidou.mybatisplus.core.enums.WrapperKeyword;
 import com.baomidou.mybatisplus.core.exceptions.MybatisPlusException;
 import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
 import com.baomidou.mybatisplus.core.metadata.TableInfo;
@@ -26,8 +42,15 @@ import com.baomidou.mybatisplus.core.toolkit.CollectionUtils;
 import com.baomidou.mybatisplus.core.toolkit.ReflectionKit;
 import com.baomidou.mybatisplus.core.toolkit.StringPool;
 import com.baomidou.mybatisplus.core.toolkit.StringUtils;
+import com.baomidou.mybatisplus.extension.plugins.pagination.DialectFactory;
+import com.baomidou.mybatisplus.extension.plugins.pagination.DialectModel;
 import com.langheng.modules.join.conditions.query.JoinQuery;
 import com.langheng.modules.join.enums.BaseFuncEnum;
+import com.langheng.modules.join.support.BroadcastJoin;
+import com.langheng.modules.join.support.BroadcastTableCache;
+import com.langheng.modules.join.support.JoinBoundedCache;
+import com.langheng.modules.join.support.JoinConditionHandler;
+import com.langheng.modules.join.support.JoinConditionRegistry;
 import com.langheng.modules.join.support.JoinLambdaUtil;
 import com.langheng.modules.join.support.JoinPart;
 
@@ -45,6 +68,33 @@ public abstract class AbstractJoinWrapper<T, R, Children extends AbstractJoinWra
         extends AbstractWrapper<T, R, Children>
         implements JoinQuery<Children, R> {
 
+    /**
+     * dto查询列缓存 <br>
+     * dto的查询列只与dto类、主表及别名、有序的连表及别名有关，按此编译一次后复用 <br>
+     * 连表结构异常多时（如动态表名）超过数量上限，淘汰最久没有使用的查询列，读取不加锁 <br>
+     * Map<[dto类,主表名,主表别名,连表别名,连表名...],查询列> <br>
+     */
+    private static final JoinBoundedCache<List<Object>, CompiledSelect> SELECT_SQL_CACHE_MAP = new JoinBoundedCache<>(1024);
+
+    /**
+     * 连表sql缓存 <br>
+     * 相同连表结构（连表类型、表、别名、连表字段、连表条件）生成的连表sql相同，多个wrapper共用 <br>
+     * 附加条件（多租户、数据权限等）随请求变化，不在连表结构中，获取缓存后再添加 <br>
+     * 连表字段中可能带有常量值（plain:、in:），超过数量上限时淘汰最久没有使用的连表sql，读取不加锁 <br>
+     * Map<连表结构,连表sql> <br>
+     */
+    private static final JoinBoundedCache<List<Object>, CompiledJoin> JOIN_PART_CACHE_MAP = new JoinBoundedCache<>(4096);
+
+    /**
+     * 查询列中需要去掉的特殊字符
+     */
+    private static final Pattern SQL_INJECTION_PATTERN = Pattern.compile("('.+--)|(--)|(\\|)|(%7C)");
+
+    /**
+     * 生成主表优先分页sql时，取分页方言的分页参数使用的配置（只用于创建参数映射）
+     */
+    private static final Configuration DIALECT_CONFIGURATION = new Configuration();
+
     /**
      * 查询字段的返回映射类
      */
@@ -91,16 +141,136 @@ public abstract class AbstractJoinWrapper<T, R, Children extends AbstractJoinWra
     protected AtomicBoolean isCacheLogicDelete;
 
     /**
-     * 连表信息缓存map
+     * 是否忽略附加条件（多租户、数据权限等 {@link JoinConditionRegistry}），初始值为false
+     */
+    protected boolean isIgnoreCondition;
+
+    /**
+     * 是否已添加主表附加条件到条件里（normalExpression）
+     */
+    protected boolean isCacheCondition;
+
+    /**
+     * 生成sql时已调用的附加条件处理器，没有调用时为null，第一次调用时创建<br>
+     * 多租户、数据权限插件只在自己对应的处理器已调用时跳过解析（{@link #isConditionApplied(JoinConditionHandler)}）
+     */
+    private Set<JoinConditionHandler> appliedConditionHandlers;
+
+    /**
+     * 生成sql时添加到条件里的逻辑删除条件和主表附加条件，没有时为null<br>
+     * 批量连表获取常规条件、判断子查询时排除（{@link #getNormalSegment()}）
+     */
+    private List<ISqlSegment> generatedSegments;
+
+    /**
+     * 连表信息缓存map，没有连表时为空map，第一次连表时创建（{@link #putJoinPart(String, JoinPart)}）
      */
     protected Map<String, JoinPart> joinPartsMap;
 
     /**
-     * 连表的缓存和别名缓存
+     * 主表实体是否已创建（第一次获取时创建）
+     */
+    private boolean isEntityInit;
+
+    /**
+     * 是否规范化输出sql，初始值为false<br>
+     * 规范化时连表条件按字段排序输出，相同结构的wrapper生成完全相同的sql<br>
+     */
+    protected boolean isCanonical;
+
+    /**
+     * 分页计数时是否按主表主键去重计数，初始值为false<br>
+     * 去重计数时 COUNT(DISTINCT 主表主键)，未被引用的左连接都可以去掉<br>
+     */
+    protected boolean isCountDistinct;
+
+    /**
+     * 是否去掉未使用的左连接，初始值为false（需要时调用 {@link #eliminateJoin(boolean)} 开启）<br>
+     * 连接条件包含连表主键（最多匹配一行），且查询列、条件、分组、排序都没有引用的左连接不会生成到sql中<br>
+     */
+    protected boolean isEliminateJoin;
+
+    /**
+     * 上次去掉未使用的左连接的结果，查询列、条件、连表都没有变化时直接使用
+     */
+    private EliminatedJoin eliminatedJoin;
+
+    /**
+     * 主表优先分页时，主表的条件wrapper（只包含主表条件），为空则不是主表优先分页
+     */
+    protected Children mainPageWrapper;
+
+    /**
+     * 主表优先分页的偏移量
+     */
+    protected long mainPageOffset;
+
+    /**
+     * 主表优先分页的每页数量
+     */
+    protected long mainPageSize;
+
+    /**
+     * 主表优先分页的数据库类型，按此获取分页方言
+     */
+    protected DbType mainPageDbType;
+
+    /**
+     * 是否开启广播连表，初始值为false<br>
+     * 开启后，注册为广播表（{@link BroadcastTableCache}）、只用于查询列的连表不生成到sql中，查询后从缓存填充dto<br>
+     */
+    protected boolean isBroadcast;
+
+    /**
+     * 广播连表，第一次生成sql时确定
+     */
+    protected List<BroadcastJoin> broadcastJoins;
+
+    /**
+     * 查询结果缓存时间（毫秒），0：不缓存；-1：使用结果缓存拦截器的默认时间
+     */
+    @Getter
+    protected long resultCacheTtlMillis;
+
+    /**
+     * 连表的缓存和别名缓存（按添加顺序，保证逻辑删除条件的顺序固定）
      */
     @Getter
     @Setter
-    protected Map<Class<?>, String> classAlisMap = new ConcurrentHashMap<>(5);
+    protected Map<Class<?>, String> classAlisMap = new LinkedHashMap<>(5);
+
+    /**
+     * 添加连表信息，第一次连表时创建连表信息缓存map
+     *
+     * @param alias    连表别名
+     * @param joinPart 连表信息
+     */
+    protected void putJoinPart(String alias, JoinPart joinPart) {
+        if (joinPartsMap.isEmpty()) {
+            joinPartsMap = new LinkedHashMap<>(5);
+        }
+        joinPartsMap.put(alias, joinPart);
+    }
+
+    /**
+     * 获取主表实体，第一次获取时创建（不使用实体条件的连表查询不再创建实体）
+     *
+     * @return 主表实体
+     */
+    @Override
+    public T getEntity() {
+        T entity = super.getEntity();
+        if (null == entity && !this.isEntityInit) {
+            this.isEntityInit = true;
+            try {
+                entity = this.getEntityClass().newInstance();
+                this.setEntity(entity);
+            } catch (InstantiationException | IllegalAccessException e) {
+                log.warn("Class[{}] is failed to init", this.getEntityClass().getName());
+            }
+        }
+        return entity;
+    }
 
     /**
      * 添加连表类和别名到缓存
@@ -133,12 +303,6 @@ public abstract class AbstractJoinWrapper<T, R, Children extends AbstractJoinWra
         this.tableAlias = tableAlias;
         this.setSelectClass(selectClass);
         this.setEntityClass(entityClass);
-        try {
-            this.setEntity(entityClass.newInstance());
-        } catch (InstantiationException | IllegalAccessException e) {
-            log.warn("Class[{}] is failed to init", entityClass.getName());
-            e.printStackTrace();
-        }
         //是否设置查询
         this.isSetSelect = null == selectClass;
         //使用自定义别名
@@ -152,11 +316,21 @@ public abstract class AbstractJoinWrapper<T, R, Children extends AbstractJoinWra
     protected void initNeed() {
         //连表信息初始化
         this.sqlSelect = SharedString.emptyString();
-        this.sqlColumn = new LinkedList<>();
+        this.sqlColumn = new ArrayList<>();
         this.isSetSelect = false;
+        this.isCanonical = false;
+        this.isCountDistinct = false;
+        this.isEliminateJoin = false;
+        this.eliminatedJoin = null;
+        this.isBroadcast = false;
+        this.resultCacheTtlMillis = 0;
         this.isWithLogicDelete = new AtomicBoolean(true);
         this.isCacheLogicDelete = new AtomicBoolean(false);
-        this.joinPartsMap = new LinkedHashMap<>(5);
+        this.isIgnoreCondition = false;
+        this.isCacheCondition = false;
+        this.appliedConditionHandlers = null;
+        this.generatedSegments = null;
+        this.joinPartsMap = Collections.emptyMap();
 
         //mybatis-plus 默认初始化方法
         super.initNeed();
@@ -170,9 +344,430 @@ public abstract class AbstractJoinWrapper<T, R, Children extends AbstractJoinWra
      */
     public String getFullSql() {
         return String.format("select %s from %s %s %s %s",
-                this.getSqlSelect(), this.getTableName(), this.getTableAlias(), this.getJoinPart(), this.getCustomSqlSegment());
+                this.getSqlSelect(), this.getFromTable(), this.getTableAlias(), this.getJoinPart(), this.getCustomSqlSegment());
+    }
+
+    /**
+     * 获取sql结构hash<br>
+     * 由预览SQL计算，条件值以参数占位符的形式参与计算，相同结构的wrapper结果相同<br>
+     *
+     * @return sql结构hash
+     */
+    public String getShapeHash() {
+        return JoinLambdaUtil.shapeHash(this.getFullSql());
+    }
+
+    /**
+     * 规范化输出sql，连表条件按字段排序输出
+     *
+     * @return children
+     */
+    public Children canonical() {
+        this.isCanonical = true;
+        return typedThis;
+    }
+
+    /**
+     * 分页计数时按主表主键去重计数
+     *
+     * @return children
+     */
+    public Children countDistinct() {
+        this.isCountDistinct = true;
+        return typedThis;
+    }
+
+    /**
+     * 主表优先分页<br>
+     * 先按主表条件过滤、按主键排序分页得到主表的派生表，再与连表连接，一对多连表不会使分页行数膨胀，分页开销只与每页数量有关<br>
+     * <pre>
+     * SELECT ... FROM (SELECT * FROM student s WHERE 主表条件 ORDER BY s.student_id LIMIT 10 OFFSET 0) s
+     * LEFT JOIN user_class uc ON( s.student_id = uc.student_id ) ORDER BY s.student_id
+     * </pre>
+     * 分页计数（{@link #getCountSql()}）只对主表计数；wrapper上的其他条件只过滤当前页的连表结果；每个wrapper只能调用一次<br>
+     * 分页语法为 LIMIT n OFFSET m，适用于MySQL、PostgreSQL、H2、SQLite等数据库，其他数据库使用
+     * {@link #mainFirstPage(DbType, long, long, Consumer)}
+     *
+     * @param current    当前页，从1开始
+     * @param size       每页数量
+     * @param mainFilter 主表条件，只能使用主表的字段
+     * @return children
+     */
+    public Children mainFirstPage(long current, long size, Consumer<Children> mainFilter) {
+        return this.mainFirstPage(DbType.POSTGRE_SQL, current, size, mainFilter);
+    }
+
+    /**
+     * 主表优先分页，按数据库类型使用mybatis-plus的分页方言生成主表的分页sql
+     *
+     * @param dbType     数据库类型
+     * @param current    当前页，从1开始
+     * @param size       每页数量
+     * @param mainFilter 主表条件，只能使用主表的字段
+     * @return children
+     * @see #mainFirstPage(long, long, Consumer)
+     */
+    public Children mainFirstPage(DbType dbType, long current, long size, Consumer<Children> mainFilter) {
+        Assert.notNull(dbType, "main first page db type can not be null.");
+        Assert.isTrue(current > 0 && size > 0, "main first page current and size must be positive.");
+        Assert.isNull(this.mainPageWrapper, "main first page can only be set once.");
+        String keyColumn = this.getMainKeyColumn();
+        Assert.notNull(keyColumn, "main first page requires primary key of table [%s].", this.tableName);
+        //主表条件wrapper，与当前wrapper共用参数，只添加主表的逻辑删除条件和附加条件
+        Children mainWrapper = this.instance();
+        mainWrapper.isCacheCondition = false;
+        mainWrapper.paramNameSeq = this.paramNameSeq;
+        mainWrapper.paramNameValuePairs = this.paramNameValuePairs;
+        mainWrapper.classAlisMap = new LinkedHashMap<>(1);
+        mainWrapper.useTableAlis(this.getEntityClass(), this.getTableAlias());
+        if (null != mainFilter) {
+            mainFilter.accept(mainWrapper);
+        }
+        this.mainPageWrapper = mainWrapper;
+        this.mainPageOffset = (current - 1) * size;
+        this.mainPageSize = size;
+        this.mainPageDbType = dbType;
+        //连表结果按主键排序，保持分页顺序
+        this.appendSqlSegments(SqlKeyword.ORDER_BY,
+                () -> this.getTableAlias() + StringPool.DOT + keyColumn, SqlKeyword.ASC);
+        return typedThis;
+    }
+
+    /**
+     * 获取查询的主表（FROM 后的表），主表优先分页时为分页后的主表派生表，否则为主表名
+     *
+     * @return 查询的主表
+     */
+    public String getFromTable() {
+        if (null == this.mainPageWrapper) {
+            return this.tableName;
+        }
+        String mainSql = "SELECT * FROM " + this.tableName + StringPool.SPACE + this.getTableAlias()
+                + StringPool.SPACE + this.getMainPageSegment()
+                + " ORDER BY " + this.getTableAlias() + StringPool.DOT + this.getMainKeyColumn();
+        return "(" + this.buildMainPageSql(mainSql) + ")";
+    }
+
+    /**
+     * 使用分页方言生成主表的分页sql，方言中的分页参数（?）按顺序替换为数值
+     *
+     * @param mainSql 主表查询sql
+     * @return 主表分页sql
+     */
+    private String buildMainPageSql(String mainSql) {
+        DialectModel dialectModel = DialectFactory.getDialect(this.mainPageDbType)
+                .buildPaginationSql(mainSql, this.mainPageOffset, this.mainPageSize);
+        //参数映射按在sql中的顺序添加，参数值按参数名放入map
+        List<ParameterMapping> parameterMappingList = new ArrayList<>(2);
+        Map<String, Object> paramMap = new HashMap<>(4);
+        dialectModel.consumers(parameterMappingList, DIALECT_CONFIGURATION, paramMap);
+        String dialectSql = dialectModel.getDialectSql();
+        StringBuilder pageSql = new StringBuilder(dialectSql.length() + 16);
+        int start = 0;
+        for (ParameterMapping parameterMapping : parameterMappingList) {
+            int index = dialectSql.indexOf(StringPool.QUESTION_MARK, start);
+            Assert.isTrue(index >= 0, "main first page can not build pagination sql for db type [%s].", this.mainPageDbType);
+            pageSql.append(dialectSql, start, index).append(paramMap.get(parameterMapping.getProperty()));
+            start = index + 1;
+        }
+        return pageSql.append(dialectSql, start, dialectSql.length()).toString();
+    }
+
+    /**
+     * 获取主表优先分页的主表条件
+     *
+     * @return WHERE 主表条件
+     */
+    private String getMainPageSegment() {
+        if (!this.isWithLogicDelete.get()) {
+            this.mainPageWrapper.ignoreLogic();
+        }
+        if (this.isIgnoreCondition) {
+            this.mainPageWrapper.ignoreCondition();
+        }
+        return this.mainPageWrapper.getCustomSqlSegment();
+    }
+
+    /**
+     * 开启广播连表
+     *
+     * @return children
+     */
+    public Children broadcast() {
+        this.isBroadcast = true;
+        return typedThis;
+    }
+
+    /**
+     * 缓存查询结果，使用结果缓存拦截器的默认缓存时间
+     *
+     * @return children
+     */
+    public Children cacheResult() {
+        this.resultCacheTtlMillis = -1;
+        return typedThis;
+    }
+
+    /**
+     * 缓存查询结果，连表中任意表有写入时清除
+     *
+     * @param ttlMillis 缓存时间（毫秒）
+     * @return children
+     */
+    public Children cacheResult(long ttlMillis) {
+        Assert.isTrue(ttlMillis > 0, "result cache ttl must be positive.");
+        this.resultCacheTtlMillis = ttlMillis;
+        return typedThis;
+    }
+
+    /**
+     * 获取查询涉及的全部表名（主表和连表）
+     *
+     * @return 表名
+     */
+    public Set<String> getTableNames() {
+        Set<String> tableNames = new LinkedHashSet<>(joinPartsMap.size() * 2 + 2);
+        tableNames.add(this.tableName);
+        joinPartsMap.values().forEach(joinPart -> tableNames.add(joinPart.getTableName()));
+        return tableNames;
+    }
+
+    /**
+     * 获取广播连表（不生成到sql中，查询后从广播表缓存填充dto的连表）<br>
+     * 条件：开启广播、查询dto、广播表以主键左连接、没有连表条件（apply）、
+     * 条件和其他连表没有引用、dto查询了来源表的连表字段<br>
+     * 在添加逻辑删除条件之前确定，广播表的逻辑删除由广播表的加载方法处理<br>
+     *
+     * @return 广播连表
+     */
+    public List<BroadcastJoin> getBroadcastJoins() {
+        if (null == this.broadcastJoins) {
+            this.broadcastJoins = this.buildBroadcastJoins();
+        }
+        return this.broadcastJoins;
+    }
+
+    /**
+     * 生成广播连表
+     *
+     * @return 广播连表
+     */
+    private List<BroadcastJoin> buildBroadcastJoins() {
+        if (!this.isBroadcast || this.isSetSelect || null == this.selectClass || !this.sqlColumn.isEmpty()
+                || CollectionUtils.isEmpty(joinPartsMap)) {
+            return Collections.emptyList();
+        }
+        String referencedSql = expression.getSqlSegment() + lastSql.getStringValue();
+        List<String> columns = this.getCompiledSelect(this.selectClass).getColumns();
+        List<Field> fields = ReflectionKit.getFieldList(this.selectClass);
+        List<BroadcastJoin> broadcastJoinList = new ArrayList<>(joinPartsMap.size());
+        for (JoinPart joinPart : joinPartsMap.values()) {
+            String alias = joinPart.getTableAlias();
+            if (!BroadcastTableCache.isRegistered(joinPart.getJoinClass())
+                    || !JoinPart.JoinType.LEFT_JOIN.equalsIgnoreCase(joinPart.getJoinType())
+                    || StringUtils.isNotBlank(joinPart.getApply()) || joinPart.getJoinFieldsMap().size() != 1
+                    //有附加条件（多租户、数据权限）的表不能使用全局的广播缓存
+                    || !this.getCondition(joinPart.getTableName(), alias).isEmpty()
+                    || !this.isJoinOnPrimaryKey(joinPart)
+                    || JoinLambdaUtil.isAliasReferenced(referencedSql, alias)
+                    || this.isColumnReferenced(referencedSql, joinPart)
+                    || joinPartsMap.values().stream().anyMatch(other -> other != joinPart && this.isAliasReferenced(other, alias))) {
+                continue;
+            }
+            //来源表的连表字段，如 uc.class_info_id
+            String fromField = joinPart.getJoinFieldsMap().keySet().iterator().next();
+            String fromColumn = fromField.contains(StringPool.DOT) ? fromField :
+                    (StringUtils.isBlank(joinPart.getFromTableAlias()) ? this.tableAlias : joinPart.getFromTableAlias())
+                            + StringPool.DOT + fromField;
+            if (!columns.contains(fromColumn)) {
+                continue;
+            }
+            String keyProperty = null;
+            List<String> fillProperties = new ArrayList<>();
+            for (Field field : fields) {
+                String column = com.baomidou.mybatisplus.core.toolkit.StringUtils.camelToUnderline(field.getName());
+                if (fromColumn.endsWith(StringPool.DOT + column)) {
+                    keyProperty = field.getName();
+                }
+                if (columns.contains(alias + StringPool.DOT + column)) {
+                    fillProperties.add(field.getName());
+                }
+            }
+            if (null != keyProperty) {
+                broadcastJoinList.add(new BroadcastJoin(joinPart.getJoinClass(), alias, keyProperty,
+                        Collections.unmodifiableList(fillProperties)));
+            }
+        }
+        return Collections.unmodifiableList(broadcastJoinList);
+    }
+
+    /**
+     * 获取生成到sql中的连表（不包括广播连表）
+     *
+     * @return 连表信息
+     */
+    private Collection<JoinPart> getSqlJoinParts() {
+        List<BroadcastJoin> broadcastJoinList = this.getBroadcastJoins();
+        if (broadcastJoinList.isEmpty()) {
+            return joinPartsMap.values();
+        }
+        List<JoinPart> joinParts = new ArrayList<>(joinPartsMap.values());
+        joinParts.removeIf(joinPart -> broadcastJoinList.stream()
+                .anyMatch(broadcastJoin -> broadcastJoin.getTableAlias().equals(joinPart.getTableAlias())));
+        return joinParts;
+    }
+
+    /**
+     * 设置是否去掉未使用的左连接（默认不去掉）
+     *
+     * @param eliminateJoin 是否去掉
+     * @return children
+     */
+    public Children eliminateJoin(boolean eliminateJoin) {
+        this.isEliminateJoin = eliminateJoin;
+        return typedThis;
+    }
+
+    /**
+     * 获取分页计数sql，直接由连表结构生成，不需要解析sql<br>
+     * <ul>
+     *     <li>查询列只有 COUNT(*) 或 COUNT(DISTINCT 主表主键)</li>
+     *     <li>去掉 ORDER BY 和 last</li>
+     *     <li>去掉条件中没有引用、且不会改变行数的左连接</li>
+     *     <li>有 GROUP BY 时，对分组结果计数</li>
+     * </ul>
+     *
+     * @return 计数sql
+     */
+    public String getCountSql() {
+        //主表优先分页，只对主表计数
+        if (null != this.mainPageWrapper) {
+            return "SELECT COUNT(*) FROM " + this.tableName + StringPool.SPACE + this.getTableAlias()
+                    + StringPool.SPACE + this.getMainPageSegment();
+        }
+        //先添加逻辑删除条件
+        this.getSqlSegment();
+        String where = expression.getNormal().isEmpty() ? StringPool.EMPTY :
+                " WHERE " + expression.getNormal().getSqlSegment();
+        String groupBy = expression.getGroupBy().getSqlSegment() + expression.getHaving().getSqlSegment();
+        String from = " FROM " + this.getFromTable() + StringPool.SPACE + this.getTableAlias() + StringPool.SPACE;
+        if (StringUtils.isNotBlank(groupBy)) {
+            //分组后计数，分组可能引用查询列，保留查询列
+            String sqlSelect = this.getSqlSelect();
+            String joinPart = this.renderJoinParts(this.eliminateJoinParts(sqlSelect + where + groupBy, false));
+            return "SELECT COUNT(*) FROM (SELECT " + sqlSelect + from + joinPart + where + groupBy + ") count_table";
+        }
+        String keyColumn = this.getMainKeyColumn();
+        boolean isDistinct = this.isCountDistinct && null != keyColumn;
+        String countSelect = isDistinct ?
+                "COUNT(DISTINCT " + this.getTableAlias() + StringPool.DOT + keyColumn + ")" : "COUNT(*)";
+        return "SELECT " + countSelect + from + this.renderJoinParts(this.eliminateJoinParts(where, isDistinct)) + where;
+    }
+
+    /**
+     * 获取主表主键列
+     *
+     * @return 主键列，没有主键返回null
+     */
+    private String getMainKeyColumn() {
+        TableInfo tableInfo = TableInfoHelper.getTableInfo(this.tableName);
+        return null != tableInfo && tableInfo.havePK() ? tableInfo.getKeyColumn() : null;
+    }
+
+    /**
+     * 去掉不影响结果的左连接<br>
+     * 左连接的别名和列没有被引用（sql片段和其他保留的连表条件），且连接条件包含连表主键（最多匹配一行）或去重计数时，可以去掉<br>
+     * 从后往前处理，链式连表（a -> b -> c）中后面的连表去掉后，前面的连表也能继续去掉<br>
+     *
+     * @param referencedSql 引用连表别名的sql片段（查询列、条件等）
+     * @param isDistinct    是否按主表主键去重
+     * @return 保留的连表信息
+     */
+    private List<JoinPart> eliminateJoinParts(String referencedSql, boolean isDistinct) {
+        List<JoinPart> joinParts = new ArrayList<>(this.getSqlJoinParts());
+        for (int i = joinParts.size() - 1; i >= 0; i--) {
+            JoinPart joinPart = joinParts.get(i);
+            if (!JoinPart.JoinType.LEFT_JOIN.equalsIgnoreCase(joinPart.getJoinType())
+                    || !(isDistinct || this.isJoinOnPrimaryKey(joinPart))) {
+                continue;
+            }
+            String alias = joinPart.getTableAlias();
+            boolean isReferenced = JoinLambdaUtil.isAliasReferenced(referencedSql, alias)
+                    || this.isColumnReferenced(referencedSql, joinPart);
+            for (int j = 0; !isReferenced && j < joinParts.size(); j++) {
+                isReferenced = j != i && this.isAliasReferenced(joinParts.get(j), alias);
+            }
+            if (!isReferenced) {
+                joinParts.remove(i);
+            }
+        }
+        return joinParts;
+    }
+
+    /**
+     * 连表条件（连表字段、来源表别名、额外条件）中是否引用了表别名
+     *
+     * @param joinPart 连表信息
+     * @param alias    表别名
+     * @return 是否引用
+     */
+    private boolean isAliasReferenced(JoinPart joinPart, String alias) {
+        if (alias.equals(joinPart.getFromTableAlias())
+                || JoinLambdaUtil.isAliasReferenced(joinPart.getApply(), alias)) {
+            return true;
+        }
+        for (Map.Entry<String, String> joinOn : joinPart.getJoinFieldsMap().entrySet()) {
+            if (JoinLambdaUtil.isAliasReferenced(joinOn.getKey(), alias)
+                    || JoinLambdaUtil.isAliasReferenced(joinOn.getValue(), alias)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * sql片段中是否有不带别名的连表列（如字符串条件 class_name = ?），有则不能去掉该连表
+     *
+     * @param sql      sql片段
+     * @param joinPart 连表信息
+     * @return 是否引用
+     */
+    private boolean isColumnReferenced(String sql, JoinPart joinPart) {
+        TableInfo joinTableInfo = TableInfoHelper.getTableInfo(joinPart.getTableName());
+        if (null == joinTableInfo) {
+            return true;
+        }
+        if (joinTableInfo.havePK() && JoinLambdaUtil.isColumnReferenced(sql, joinTableInfo.getKeyColumn())) {
+            return true;
+        }
+        for (TableFieldInfo tableFieldInfo : joinTableInfo.getFieldList()) {
+            if (JoinLambdaUtil.isColumnReferenced(sql, tableFieldInfo.getColumn())) {
+                return true;
+            }
+        }
+        return false;
     }
 
+    /**
+     * 连接条件是否包含连表主键（连表最多匹配一行，不会改变主表行数）
+     *
+     * @param joinPart 连表信息
+     * @return 是否包含连表主键
+     */
+    private boolean isJoinOnPrimaryKey(JoinPart joinPart) {
+        TableInfo joinTableInfo = TableInfoHelper.getTableInfo(joinPart.getTableName());
+        if (null == joinTableInfo || !joinTableInfo.havePK()) {
+            return false;
+        }
+        String aliasPrefix = joinPart.getTableAlias() + StringPool.DOT;
+        for (String toField : joinPart.getJoinFieldsMap().values()) {
+            String column = toField.startsWith(aliasPrefix) ? toField.substring(aliasPrefix.length()) : toField;
+            if (joinTableInfo.getKeyColumn().equalsIgnoreCase(column)) {
+                return true;
+            }
+        }
+        return false;
+    }
 
     /**
      * 获取设置查询的column
@@ -187,6 +782,23 @@ public abstract class AbstractJoinWrapper<T, R, Children extends AbstractJoinWra
             return sqlSelect;
         }
 
+        //只查询dto的字段，直接使用编译好的查询列
+        if (!isSetSelect && null != this.selectClass && this.sqlColumn.isEmpty()) {
+            sqlSelect = this.getCompiledSelect(this.selectClass).getSql();
+            //去掉广播连表的查询列
+            List<BroadcastJoin> broadcastJoinList = this.getBroadcastJoins();
+            if (!broadcastJoinList.isEmpty()) {
+                sqlSelect = this.getCompiledSelect(this.selectClass).getColumns().stream()
+                        .filter(column -> broadcastJoinList.stream()
+                                .noneMatch(broadcastJoin -> column.startsWith(broadcastJoin.getTableAlias() + StringPool.DOT)))
+                        .collect(Collectors.joining(StringPool.COMMA));
+            }
+            if (StringUtils.isNotBlank(sqlSelect)) {
+                this.sqlSelect.setStringValue(sqlSelect);
+                return sqlSelect;
+            }
+        }
+
         List<String> sqlSelectList = new ArrayList<>(this.sqlColumn);
 
         // TODO: 2022/5/23  添加基本查询函数,位置在查询实体类前
@@ -238,7 +850,11 @@ public abstract class AbstractJoinWrapper<T, R, Children extends AbstractJoinWra
      */
     private static String stripSqlInjection(String sql) {
         Assert.notNull(sql, "strip sql is null.");
-        return sql.replaceAll("('.+--)|(--)|(\\|)|(%7C)", "");
+        //没有特殊字符（通常情况）直接返回，不执行正则
+        if (sql.indexOf('|') < 0 && !sql.contains("--") && !sql.contains("%7C")) {
+            return sql;
+        }
+        return SQL_INJECTION_PATTERN.matcher(sql).replaceAll("");
     }
 
     /**
@@ -267,6 +883,40 @@ public abstract class AbstractJoinWrapper<T, R, Children extends AbstractJoinWra
         if (selectClass == null) {
             return Collections.emptyList();
         }
+        return this.getCompiledSelect(selectClass).getColumns();
+    }
+
+    /**
+     * 获取编译好的dto查询列，没有则编译并缓存
+     *
+     * @param selectClass 生成查询字段的类
+     * @return 编译好的查询列
+     */
+    private CompiledSelect getCompiledSelect(Class<?> selectClass) {
+        //查询列的结构：dto类、主表及别名、有序的连表及别名
+        List<Object> selectKey = new ArrayList<>(3 + this.joinPartsMap.size() * 2);
+        selectKey.add(selectClass);
+        selectKey.add(this.tableName);
+        selectKey.add(this.tableAlias);
+        this.joinPartsMap.forEach((alias, joinPart) -> {
+            selectKey.add(alias);
+            selectKey.add(joinPart.getTableName());
+        });
+        CompiledSelect compiledSelect = SELECT_SQL_CACHE_MAP.get(selectKey);
+        if (null == compiledSelect) {
+            compiledSelect = new CompiledSelect(this.buildSelectSql(selectClass));
+            SELECT_SQL_CACHE_MAP.putIfAbsent(selectKey, compiledSelect);
+        }
+        return compiledSelect;
+    }
+
+    /**
+     * 生成dto类的查询列
+     *
+     * @param selectClass 生成查询字段的类
+     * @return 返回别名拼接列
+     */
+    private List<String> buildSelectSql(Class<?> selectClass) {
         //设置sql字段，（先加个空格防止跟前面的select挨在一起）
         List<String> sqlSelect = new ArrayList<>();
 
@@ -415,60 +1065,149 @@ public abstract class AbstractJoinWrapper<T, R, Children extends AbstractJoinWra
         if (CollectionUtils.isEmpty(joinPartsMap)) {
             return "";
         }
-        //连表的信息
-        List<String> joinParts = new ArrayList<>();
-        for (JoinPart joinPart : joinPartsMap.values()) {
-            // 1.处理连表字段
-            //连接数据库字段名称（key为主表字段，value为连接表字段）
-            Map<String, String> joinFieldsMap = joinPart.getJoinFieldsMap();
-            //拼接连表字段
-            String joinFields = joinFieldsMap.entrySet().stream()
-                    .map(joinOn -> {
-                        //主表字段
-                        String fromField = joinOn.getKey().contains(".") ? joinOn.getKey() :
-                                String.format("%s.%s",
-                                        //没有设置主表别名，就用当前wrapper设置的主表别名
-                                        StringUtils.isBlank(joinPart.getFromTableAlias()) ? this.tableAlias : joinPart.getFromTableAlias()
-                                        , joinOn.getKey());
-                        //连表字段
-                        String toField = joinOn.getValue().contains(".") ? joinOn.getValue() :
-                                joinOn.getValue().startsWith("plain:") ? wrapWithSingleQuote(joinOn.getValue().replace("plain:", "")) :
-                                        String.format("%s.%s", joinPart.getTableAlias(), joinOn.getValue());
-                        //在连接条件中使用了in
-                        boolean useIn = joinOn.getValue().startsWith("in:");
-                        if (useIn) {
-                            String listStr = joinOn.getValue().replace("in:", "");
-                            String[] arr = listStr.split(",");
-                            return String.format(
-                                    "%s IN (%s)",
-                                    fromField,
-                                    Arrays.stream(arr)
-                                            .map(this::wrapWithSingleQuote)
-                                            .collect(Collectors.joining(","))
-                            );
-                        }
-                        return String.format("%s = %s", fromField, toField);
-                    })
-                    .collect(Collectors.joining(" AND "));
-
-            // 2.处理连表 额外条件(apply)
-            // apply 是left join t2 on 的额外添加条件
-            // 如 select * from table1 t1 LEFT JOIN table2 t2 ON (t1.xx = t2.xx AND apply )
-            String apply = StringUtils.isNotBlank(joinPart.getApply()) ?
-                    String.join(StringPool.SPACE, StringPool.AND, joinPart.getApply()) : StringPool.SPACE;
-            //返回的条件表达  table1 t1 join table2 t2 on(t1.xx = t2.xx AND apply)
-            String joinPartFormat = String.format("%s JOIN %s %s ON( %s %s)",
-                    joinPart.getJoinType(),
-                    joinPart.getTableName(),
-                    joinPart.getTableAlias(),
-                    joinFields,
-                    apply
-            );
-            joinParts.add(joinPartFormat);
+        if (!this.isEliminateJoin) {
+            return this.renderJoinParts(this.getSqlJoinParts());
+        }
+        //去掉查询列、条件、分组、排序都没有引用的左连接，查询列、条件、连表没有变化时（同一次生成sql）使用上次的结果
+        String sqlSelect = this.getSqlSelect();
+        this.getSqlSegment();
+        String segment = expression.getSqlSegment();
+        String last = lastSql.getStringValue();
+        EliminatedJoin eliminatedJoin = this.eliminatedJoin;
+        if (null == eliminatedJoin || !eliminatedJoin.isSame(sqlSelect, segment, last, this.joinPartsMap.size())) {
+            String referencedSql = sqlSelect + StringPool.SPACE + segment + last;
+            eliminatedJoin = new EliminatedJoin(sqlSelect, segment, last, this.joinPartsMap.size(),
+                    this.eliminateJoinParts(referencedSql, false));
+            this.eliminatedJoin = eliminatedJoin;
         }
+        return this.renderJoinParts(eliminatedJoin.joinParts);
+    }
 
+    /**
+     * 生成连表sql，相同的连表结构直接使用缓存的连表sql
+     *
+     * @param joinPartList 连表信息
+     * @return 连表sql
+     */
+    private String renderJoinParts(Collection<JoinPart> joinPartList) {
+        if (CollectionUtils.isEmpty(joinPartList)) {
+            return "";
+        }
+        List<Object> joinShape = this.getJoinShape(joinPartList);
+        CompiledJoin compiledJoin = JOIN_PART_CACHE_MAP.get(joinShape);
+        if (null == compiledJoin) {
+            //连表的信息
+            List<String> joinParts = new ArrayList<>(joinPartList.size());
+            for (JoinPart joinPart : joinPartList) {
+                joinParts.add(this.renderJoinPart(joinPart));
+            }
+            compiledJoin = new CompiledJoin(joinParts);
+            JOIN_PART_CACHE_MAP.putIfAbsent(joinShape, compiledJoin);
+        }
+        //连表的附加条件（多租户、数据权限等）随请求变化，添加到缓存的连表sql的 ON 中
+        List<String> joinParts = null;
+        int index = 0;
+        for (JoinPart joinPart : joinPartList) {
+            String condition = this.getCondition(joinPart.getTableName(), joinPart.getTableAlias());
+            if (!condition.isEmpty()) {
+                if (null == joinParts) {
+                    joinParts = new ArrayList<>(compiledJoin.getJoinParts());
+                }
+                String joinPartSql = joinParts.get(index);
+                //去掉结尾的 ) 后添加条件
+                joinParts.set(index, joinPartSql.substring(0, joinPartSql.length() - 1)
+                        + " AND " + condition + StringPool.RIGHT_BRACKET);
+            }
+            index++;
+        }
         //每一个left join 用换行隔开
-        return String.join(StringPool.NEWLINE, joinParts);
+        return null == joinParts ? compiledJoin.getSql() : String.join(StringPool.NEWLINE, joinParts);
+    }
+
+    /**
+     * 获取连表结构，作为连表sql缓存的key<br>
+     * 按顺序包含每个连表的：连表类型、表名、别名、来源表别名、连表字段、连表条件<br>
+     *
+     * @param joinParts 连表信息
+     * @return 连表结构
+     */
+    private List<Object> getJoinShape(Collection<JoinPart> joinParts) {
+        List<Object> joinShape = new ArrayList<>(joinParts.size() * 8 + 1);
+        joinShape.add(this.isCanonical);
+        for (JoinPart joinPart : joinParts) {
+            joinShape.add(joinPart.getJoinType());
+            joinShape.add(joinPart.getTableName());
+            joinShape.add(joinPart.getTableAlias());
+            //没有设置主表别名，就用当前wrapper设置的主表别名
+            joinShape.add(StringUtils.isBlank(joinPart.getFromTableAlias()) ? this.tableAlias : joinPart.getFromTableAlias());
+            Map<String, String> joinFieldsMap = joinPart.getJoinFieldsMap();
+            joinShape.add(joinFieldsMap.size());
+            joinFieldsMap.forEach((fromField, toField) -> {
+                joinShape.add(fromField);
+                joinShape.add(toField);
+            });
+            joinShape.add(joinPart.getApply());
+        }
+        return joinShape;
+    }
+
+    /**
+     * 生成单个连表的sql（不包括附加条件）
+     *
+     * @param joinPart 连表信息
+     * @return 如 LEFT JOIN table2 t2 ON( t1.xx = t2.xx AND apply)
+     */
+    private String renderJoinPart(JoinPart joinPart) {
+        // 1.处理连表字段
+        //连接数据库字段名称（key为主表字段，value为连接表字段）
+        Map<String, String> joinFieldsMap = joinPart.getJoinFieldsMap();
+        //规范化时按字段排序
+        if (this.isCanonical && joinFieldsMap.size() > 1) {
+            joinFieldsMap = new TreeMap<>(joinFieldsMap);
+        }
+        //拼接连表字段
+        String joinFields = joinFieldsMap.entrySet().stream()
+                .map(joinOn -> {
+                    //主表字段
+                    String fromField = joinOn.getKey().contains(".") ? joinOn.getKey() :
+                            String.format("%s.%s",
+                                    //没有设置主表别名，就用当前wrapper设置的主表别名
+                                    StringUtils.isBlank(joinPart.getFromTableAlias()) ? this.tableAlias : joinPart.getFromTableAlias()
+                                    , joinOn.getKey());
+                    //连表字段
+                    String toField = joinOn.getValue().contains(".") ? joinOn.getValue() :
+                            joinOn.getValue().startsWith("plain:") ? wrapWithSingleQuote(joinOn.getValue().replace("plain:", "")) :
+                                    String.format("%s.%s", joinPart.getTableAlias(), joinOn.getValue());
+                    //在连接条件中使用了in
+                    boolean useIn = joinOn.getValue().startsWith("in:");
+                    if (useIn) {
+                        String listStr = joinOn.getValue().replace("in:", "");
+                        String[] arr = listStr.split(",");
+                        return String.format(
+                                "%s IN (%s)",
+                                fromField,
+                                Arrays.stream(arr)
+                                        .map(this::wrapWithSingleQuote)
+                                        .collect(Collectors.joining(","))
+                        );
+                    }
+                    return String.format("%s = %s", fromField, toField);
+                })
+                .collect(Collectors.joining(" AND "));
+
+        // 2.处理连表 额外条件(apply)
+        // apply 是left join t2 on 的额外添加条件
+        // 如 select * from table1 t1 LEFT JOIN table2 t2 ON (t1.xx = t2.xx AND apply )
+        String apply = StringUtils.isNotBlank(joinPart.getApply()) ?
+                String.join(StringPool.SPACE, StringPool.AND, joinPart.getApply()) : StringPool.SPACE;
+        //返回的条件表达  table1 t1 join table2 t2 on(t1.xx = t2.xx AND apply)
+        return String.format("%s JOIN %s %s ON( %s %s)",
+                joinPart.getJoinType(),
+                joinPart.getTableName(),
+                joinPart.getTableAlias(),
+                joinFields,
+                apply
+        );
     }
 
     /**
@@ -522,8 +1261,8 @@ public abstract class AbstractJoinWrapper<T, R, Children extends AbstractJoinWra
     public Children select(Class<?> dtoClass) {
         if (null != dtoClass) {
             this.setSelectClass(dtoClass);
-            //手动设置查询字段，
-            this.isSetSelect = true;
+            //查询字段从dto类中生成
+            this.isSetSelect = false;
         }
 
         return typedThis;
@@ -561,21 +1300,352 @@ public abstract class AbstractJoinWrapper<T, R, Children extends AbstractJoinWra
     public String getSqlSegment() {
         //判断是否设置逻辑删除字段和是否已经添加逻辑删除字段条件
         if (isWithLogicDelete.get() && !isCacheLogicDelete.get()) {
+            //广播连表在添加逻辑删除条件前确定，广播连表不添加逻辑删除条件
+            Set<String> broadcastAliasSet = this.getBroadcastJoins().stream()
+                    .map(BroadcastJoin::getTableAlias).collect(Collectors.toSet());
             this.classAlisMap.forEach((clazz, alis) -> {
-                TableInfo tableInfo = TableInfoHelper.getTableInfo(clazz);
-                if (null != tableInfo && tableInfo.isWithLogicDelete()) {
-                    //获取查询表（tableInfo）逻辑删除正常字段
-                    //如:
-                    // 表:student;
-                    // 别名:s;
-                    // 逻辑删除字段(@TableLogic修饰): status;
-                    // 输出结果 ==>  AND s.status = '0'
-                    String andNormalSql = JoinLambdaUtil.andNormalSql(alis, tableInfo);
-                    expression.getNormal().add(() -> andNormalSql);
+                //获取查询表（clazz）逻辑删除正常条件（按实体类和别名缓存）
+                //如:
+                // 表:student;
+                // 别名:s;
+                // 逻辑删除字段(@TableLogic修饰): status;
+                // 输出结果 ==>  s.status = '0'
+                String logicDeleteSql = JoinLambdaUtil.getNormalSql(clazz, alis);
+                if (!logicDeleteSql.isEmpty() && !broadcastAliasSet.contains(alis)) {
+                    // 条件已生成，直接作为apply片段添加（不再解析占位符），由mybatis-plus处理 AND 连接（没有其他条件时不会生成多余的 AND）
+                    this.appendGeneratedSegment(logicDeleteSql);
                 }
             });
             isCacheLogicDelete.set(true);
         }
+        //主表的附加条件（多租户、数据权限等）添加到 WHERE，连表的附加条件在生成连表时添加到 ON
+        if (!isCacheCondition) {
+            String condition = this.getCondition(this.tableName, this.getTableAlias());
+            if (!condition.isEmpty()) {
+                this.appendGeneratedSegment(condition);
+            }
+            isCacheCondition = true;
+        }
         return super.getSqlSegment();
     }
+
+    /**
+     * 添加生成的条件（逻辑删除、主表附加条件），并记录条件片段
+     *
+     * @param sql 生成的条件
+     */
+    private void appendGeneratedSegment(String sql) {
+        ISqlSegment segment = () -> sql;
+        if (null == this.generatedSegments) {
+            this.generatedSegments = new ArrayList<>(4);
+        }
+        this.generatedSegments.add(segment);
+        this.appendSqlSegments(WrapperKeyword.APPLY, segment);
+    }
+
+    /**
+     * 忽略附加条件（多租户、数据权限等），语句交给对应的插件解析处理
+     *
+     * @return children
+     */
+    public Children ignoreCondition() {
+        this.isIgnoreCondition = true;
+        return this.typedThis;
+    }
+
+    /**
+     * 获取表的附加条件（多租户、数据权限等）
+     *
+     * @param tableName  表名
+     * @param tableAlias 表别名
+     * @return 附加条件，没有条件返回空字符串
+     */
+    private String getCondition(String tableName, String tableAlias) {
+        if (this.isIgnoreCondition || JoinConditionRegistry.isEmpty()) {
+            return StringPool.EMPTY;
+        }
+        if (null == this.appliedConditionHandlers) {
+            this.appliedConditionHandlers = new HashSet<>(4);
+        }
+        return JoinConditionRegistry.getCondition(tableName, tableAlias, this.appliedConditionHandlers);
+    }
+
+    /**
+     * 生成sql时是否已按表添加了处理器的附加条件，已添加的语句由对应的多租户、数据权限插件跳过解析<br>
+     * 有原生子查询（inSql、exists、apply、查询列等）时返回false，子查询中的表没有添加条件，仍交给插件解析
+     *
+     * @param handler 附加条件处理器
+     * @return 是否已添加
+     */
+    public boolean isConditionApplied(JoinConditionHandler handler) {
+        if (null == this.appliedConditionHandlers || !this.appliedConditionHandlers.contains(handler)) {
+            return false;
+        }
+        return !this.hasSubQuery();
+    }
+
+    /**
+     * 查询列、条件、连表条件中是否有原生子查询（不包括生成的附加条件和主表优先分页的派生表）
+     *
+     * @return 是否有子查询
+     */
+    boolean hasSubQuery() {
+        String segment = this.getNormalSegment() + expression.getGroupBy().getSqlSegment()
+                + expression.getHaving().getSqlSegment() + expression.getOrderBy().getSqlSegment();
+        return JoinLambdaUtil.isSubQuery(segment)
+                || JoinLambdaUtil.isSubQuery(this.lastSql.getStringValue())
+                || JoinLambdaUtil.isSubQuery(this.getSqlSelect())
+                || this.joinPartsMap.values().stream().anyMatch(joinPart -> JoinLambdaUtil.isSubQuery(joinPart.getApply()))
+                || (null != this.mainPageWrapper && this.mainPageWrapper.hasSubQuery());
+    }
+
+    /**
+     * 获取常规条件sql，不包括生成sql时添加的逻辑删除条件和主表附加条件（批量连表、冻结模板使用）<br>
+     * 已生成sql时，去掉生成的条件片段及其前面（在开头时为后面）的 AND 连接
+     *
+     * @return 常规条件sql
+     */
+    String getNormalSegment() {
+        NormalSegmentList normal = expression.getNormal();
+        if (normal.isEmpty()) {
+            return StringPool.EMPTY;
+        }
+        if (null == this.generatedSegments) {
+            return normal.getSqlSegment();
+        }
+        List<ISqlSegment> segments = new ArrayList<>(normal.size());
+        boolean isSkipKeyword = false;
+        for (ISqlSegment segment : normal) {
+            if (this.generatedSegments.stream().anyMatch(generated -> generated == segment)) {
+                if (segments.isEmpty()) {
+                    isSkipKeyword = true;
+                } else if (isAndOr(segments.get(segments.size() - 1))) {
+                    segments.remove(segments.size() - 1);
+                }
+                continue;
+            }
+            if (isSkipKeyword && isAndOr(segment)) {
+                isSkipKeyword = false;
+                continue;
+            }
+            isSkipKeyword = false;
+            segments.add(segment);
+        }
+        if (!segments.isEmpty() && isAndOr(segments.get(segments.size() - 1))) {
+            segments.remove(segments.size() - 1);
+        }
+        return segments.isEmpty() ? StringPool.EMPTY : segments.stream().map(ISqlSegment::getSqlSegment)
+                .collect(Collectors.joining(StringPool.SPACE, StringPool.LEFT_BRACKET, StringPool.RIGHT_BRACKET));
+    }
+
+    /**
+     * 是否为 AND、OR 连接
+     *
+     * @param segment 条件片段
+     * @return 是否为连接
+     */
+    private static boolean isAndOr(ISqlSegment segment) {
+        return SqlKeyword.AND == segment || SqlKeyword.OR == segment;
+    }
+
+    /**
+     * 是否有分组条件（批量连表使用）
+     *
+     * @return 是否有 GROUP BY 或 HAVING
+     */
+    boolean hasGroupBy() {
+        return !expression.getGroupBy().isEmpty() || !expression.getHaving().isEmpty();
+    }
+
+    /**
+     * 获取排序和 last sql（批量连表使用）
+     *
+     * @return ORDER BY ... last
+     */
+    String getOrderByAndLastSegment() {
+        return expression.getOrderBy().getSqlSegment() + lastSql.getStringValue();
+    }
+
+    /**
+     * 是否添加逻辑删除条件（批量连表使用）
+     *
+     * @return 是否添加
+     */
+    boolean isWithLogicDelete() {
+        return isWithLogicDelete.get();
+    }
+
+    /**
+     * 复制来源wrapper的参数，参数序号从来源wrapper继续防止重名，不修改来源wrapper（批量连表使用）
+     *
+     * @param source 来源wrapper
+     */
+    void copyParams(AbstractJoinWrapper<?, ?, ?> source) {
+        this.paramNameSeq = new AtomicInteger(source.paramNameSeq.get());
+        this.paramNameValuePairs = new HashMap<>(source.paramNameValuePairs);
+    }
+
+    /**
+     * 获取分组、having、排序部分（不带关键字），冻结模板使用
+     *
+     * @param keyword GROUP_BY、HAVING、ORDER_BY
+     * @return 如 s.age,s.name，没有返回空字符串
+     */
+    String getStaticSegment(SqlKeyword keyword) {
+        String segment;
+        if (SqlKeyword.GROUP_BY == keyword) {
+            segment = expression.getGroupBy().getSqlSegment();
+        } else if (SqlKeyword.HAVING == keyword) {
+            segment = expression.getHaving().getSqlSegment();
+        } else {
+            segment = expression.getOrderBy().getSqlSegment();
+        }
+        segment = segment.trim();
+        return segment.startsWith(keyword.getSqlSegment()) ?
+                segment.substring(keyword.getSqlSegment().length()).trim() : segment;
+    }
+
+    /**
+     * 是否已生成sql（已添加逻辑删除条件或附加条件），冻结模板使用
+     *
+     * @return 是否已生成sql
+     */
+    boolean isRendered() {
+        return this.isCacheLogicDelete.get() || this.isCacheCondition || null != this.mainPageWrapper;
+    }
+
+    /**
+     * 复制模板的连表、查询列、设置和静态条件（冻结模板绑定使用）<br>
+     * 连表信息只复制map，静态条件以已生成的sql片段添加，参数值复制一份，参数序号从模板继续
+     *
+     * @param template      模板wrapper（只读）
+     * @param normalSegment 常规条件
+     * @param groupBy       分组
+     * @param having        having
+     * @param orderBy       排序
+     */
+    void copyTemplate(AbstractJoinWrapper<?, ?, ?> template, String normalSegment, String groupBy,
+                      String having, String orderBy) {
+        this.tableName = template.tableName;
+        this.sqlColumn.addAll(template.sqlColumn);
+        this.isSetSelect = template.isSetSelect;
+        this.isCanonical = template.isCanonical;
+        this.isCountDistinct = template.isCountDistinct;
+        this.isEliminateJoin = template.isEliminateJoin;
+        this.isBroadcast = template.isBroadcast;
+        this.resultCacheTtlMillis = template.resultCacheTtlMillis;
+        this.isWithLogicDelete.set(template.isWithLogicDelete.get());
+        this.isIgnoreCondition = template.isIgnoreCondition;
+        this.joinPartsMap = template.joinPartsMap.isEmpty() ? Collections.emptyMap() : new LinkedHashMap<>(template.joinPartsMap);
+        this.classAlisMap = new LinkedHashMap<>(template.classAlisMap);
+        this.paramNameSeq = new AtomicInteger(template.paramNameSeq.get());
+        this.paramNameValuePairs = new HashMap<>(template.paramNameValuePairs);
+        if (!normalSegment.isEmpty()) {
+            this.appendSqlSegments(WrapperKeyword.APPLY, () -> normalSegment);
+        }
+        if (!groupBy.isEmpty()) {
+            this.appendSqlSegments(SqlKeyword.GROUP_BY, () -> groupBy);
+        }
+        if (!having.isEmpty()) {
+            this.appendSqlSegments(SqlKeyword.HAVING, () -> having);
+        }
+        if (!orderBy.isEmpty()) {
+            this.appendSqlSegments(SqlKeyword.ORDER_BY, () -> orderBy);
+        }
+        String last = template.lastSql.getStringValue();
+        if (StringUtils.isNotBlank(last)) {
+            this.lastSql.setStringValue(last);
+        }
+    }
+
+    /**
+     * 去掉未使用的左连接的结果，按生成时的查询列、条件（同一个字符串实例）和连表数量判断是否变化
+     */
+    private static class EliminatedJoin {
+
+        private final String sqlSelect;
+
+        private final String segment;
+
+        private final String lastSql;
+
+        private final int joinSize;
+
+        /**
+         * 保留的连表信息
+         */
+        private final List<JoinPart> joinParts;
+
+        EliminatedJoin(String sqlSelect, String segment, String lastSql, int joinSize, List<JoinPart> joinParts) {
+            this.sqlSelect = sqlSelect;
+            this.segment = segment;
+            this.lastSql = lastSql;
+            this.joinSize = joinSize;
+            this.joinParts = joinParts;
+        }
+
+        boolean isSame(String sqlSelect, String segment, String lastSql, int joinSize) {
+            return this.sqlSelect == sqlSelect && this.segment == segment && this.lastSql == lastSql
+                    && this.joinSize == joinSize;
+        }
+    }
+
+    /**
+     * 编译好的连表sql（不包括附加条件），不可变
+     */
+    private static class CompiledJoin {
+
+        /**
+         * 每个连表的sql，如 LEFT JOIN table2 t2 ON( t1.xx = t2.xx)
+         */
+        private final List<String> joinParts;
+
+        /**
+         * 换行拼接后的连表sql
+         */
+        private final String sql;
+
+        CompiledJoin(List<String> joinParts) {
+            this.joinParts = Collections.unmodifiableList(joinParts);
+            this.sql = String.join(StringPool.NEWLINE, joinParts);
+        }
+
+        List<String> getJoinParts() {
+            return joinParts;
+        }
+
+        String getSql() {
+            return sql;
+        }
+    }
+
+    /**
+     * 编译好的dto查询列，不可变
+     */
+    private static class CompiledSelect {
+
+        /**
+         * 查询列，如 s.user_id
+         */
+        private final List<String> columns;
+
+        /**
+         * 逗号拼接后的查询列
+         */
+        private final String sql;
+
+        CompiledSelect(List<String> columns) {
+            this.columns = Collections.unmodifiableList(columns);
+            this.sql = CollectionUtils.isNotEmpty(columns) ?
+                    stripSqlInjection(String.join(StringPool.COMMA, columns)) : null;
+        }
+
+        List<String> getColumns() {
+            return columns;
+        }
+
+        String getSql() {
+            return sql;
+        }
+    }
 }
@@ -0,0 +1,692 @@
+package com.langheng.modules.join.wrapper;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.SystemMetaObject;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.baomidou.mybatisplus.core.toolkit.Assert;
+import com.baomidou.mybatisplus.core.toolkit.ClassUtils;
+import com.baomidou.mybatisplus.core.toolkit.CollectionUtils;
+import com.baomidou.mybatisplus.core.toolkit.ReflectionKit;
+import com.baomidou.mybatisplus.core.toolkit.StringPool;
+import com.baomidou.mybatisplus.core.toolkit.StringUtils;
+import com.langheng.modules.join.mapper.JoinMapper;
+import com.langheng.modules.join.support.JoinLambdaUtil;
+import com.langheng.modules.join.support.JoinPart;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/18 5:40 下午
+ * @description 批量连表执行器：先按主表条件查询主表，再按连表字段分批 IN 查询连表，在内存中哈希连接后填充dto<br>
+ * 用于连表数据量大、数据库执行计划差的场景，限制：
+ * <ul>
+ *     <li>只支持 LEFT、INNER 连表，连表字段只能是 字段 = 字段</li>
+ *     <li>wrapper的条件、排序只能使用主表字段，不能分组；连表条件（apply）只能使用连表自己的字段</li>
+ *     <li>连表的逻辑删除条件作为连表条件（相当于放在 ON 中）</li>
+ *     <li>每个表的mapper需要继承 {@link JoinMapper}</li>
+ * </ul>
+ * <pre>
+ * List&lt;StudentVo&gt; list = new BatchJoinExecutor(sqlSession).setBatchSize(500)
+ *         .selectList(lambdaJoinWrapper, StudentVo.class);
+ * </pre>
+ * 来源表相同（或都已连接）的连表互相独立，可以并行查询，每个分支使用独立会话，同时使用的连接数有上限：
+ * <pre>
+ * BatchJoinExecutor executor = new BatchJoinExecutor(sqlSessionFactory).parallel(4);
+ * List&lt;StudentVo&gt; list = executor.selectList(lambdaJoinWrapper, StudentVo.class);
+ * Map&lt;String, Long&gt; timings = executor.getBranchTimings();
+ * </pre>
+ */
+@Slf4j
+public class BatchJoinExecutor {
+
+    /**
+     * 表字段和实体属性缓存 <br>
+     * Map<实体类,Map<表字段,实体属性>> <br>
+     */
+    private static final Map<Class<?>, Map<String, String>> COLUMN_PROPERTY_CACHE_MAP = new ConcurrentHashMap<>(16);
+
+    /**
+     * 会话，与 sqlSessionFactory 二选一
+     */
+    private final SqlSession sqlSession;
+
+    /**
+     * 会话工厂，每次查询打开独立会话，并行模式需要
+     */
+    private final SqlSessionFactory sqlSessionFactory;
+
+    /**
+     * 并行查询的线程池，为空则不并行
+     */
+    private Executor executor;
+
+    /**
+     * 并行模式下每次请求同时使用的连接数上限
+     */
+    private int maxConnections = 1;
+
+    /**
+     * 最近一次查询每个分支（主表和每个连表，按别名）的耗时（毫秒）
+     */
+    private final Map<String, Long> branchTimings = new ConcurrentHashMap<>(8);
+
+    /**
+     * 每次 IN 查询的连表字段值数量
+     */
+    private int batchSize = 500;
+
+    /**
+     * 每次 IN 查询的参数数量上限（多字段连表时，每组值占多个参数）
+     */
+    private int maxInSize = 1000;
+
+    public BatchJoinExecutor(SqlSession sqlSession) {
+        this.sqlSession = sqlSession;
+        this.sqlSessionFactory = null;
+    }
+
+    public BatchJoinExecutor(SqlSessionFactory sqlSessionFactory) {
+        this.sqlSession = null;
+        this.sqlSessionFactory = sqlSessionFactory;
+    }
+
+    /**
+     * 并行查询互相独立的连表，使用默认线程池（支持虚拟线程时使用虚拟线程）
+     *
+     * @param maxConnections 每次请求同时使用的连接数上限
+     * @return this
+     */
+    public BatchJoinExecutor parallel(int maxConnections) {
+        return this.parallel(DefaultExecutorHolder.EXECUTOR, maxConnections);
+    }
+
+    /**
+     * 并行查询互相独立的连表，每个分支打开独立会话
+     *
+     * @param executor       线程池
+     * @param maxConnections 每次请求同时使用的连接数上限
+     * @return this
+     */
+    public BatchJoinExecutor parallel(Executor executor, int maxConnections) {
+        Assert.notNull(this.sqlSessionFactory, "parallel batch join requires SqlSessionFactory.");
+        Assert.notNull(executor, "parallel batch join requires executor.");
+        Assert.isTrue(maxConnections > 0, "max connections must be positive.");
+        this.executor = executor;
+        this.maxConnections = maxConnections;
+        return this;
+    }
+
+    /**
+     * 获取最近一次查询每个分支的耗时
+     *
+     * @return Map<别名,耗时（毫秒）>
+     */
+    public Map<String, Long> getBranchTimings() {
+        return Collections.unmodifiableMap(new HashMap<>(this.branchTimings));
+    }
+
+    public BatchJoinExecutor setBatchSize(int batchSize) {
+        Assert.isTrue(batchSize > 0, "batch size must be positive.");
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    public BatchJoinExecutor setMaxInSize(int maxInSize) {
+        Assert.isTrue(maxInSize > 0, "max in size must be positive.");
+        this.maxInSize = maxInSize;
+        return this;
+    }
+
+    /**
+     * 批量连表查询
+     *
+     * @param wrapper  连表wrapper
+     * @param dtoClass dto类
+     * @param <Dto>    dto类型
+     * @return dto列表，顺序与主表查询顺序一致
+     */
+    public <Dto> List<Dto> selectList(AbstractJoinWrapper<?, ?, ?> wrapper, Class<Dto> dtoClass) {
+        Assert.notNull(dtoClass, "batch join requires dto class.");
+        this.branchTimings.clear();
+        String mainAlias = wrapper.getTableAlias();
+        //别名和表实体类，主表在前
+        Map<String, Class<?>> aliasClassMap = new LinkedHashMap<>(wrapper.joinPartsMap.size() + 1);
+        aliasClassMap.put(mainAlias, wrapper.getEntityClass());
+        wrapper.joinPartsMap.forEach((alias, joinPart) -> aliasClassMap.put(alias, joinPart.getJoinClass()));
+        //连表字段
+        List<JoinColumns> remainJoins = new ArrayList<>(wrapper.joinPartsMap.size());
+        for (JoinPart joinPart : wrapper.joinPartsMap.values()) {
+            remainJoins.add(new JoinColumns(wrapper, joinPart, aliasClassMap.keySet()));
+        }
+
+        //1.查询主表，每行以 Map<别名,实体> 保存
+        long start = System.nanoTime();
+        List<?> mainList = this.selectMain(wrapper);
+        this.recordTiming(mainAlias, start);
+        List<Map<String, Object>> rows = new ArrayList<>(mainList.size());
+        for (Object main : mainList) {
+            Map<String, Object> row = new HashMap<>(aliasClassMap.size() * 2);
+            row.put(mainAlias, main);
+            rows.add(row);
+        }
+        //2.分批查询连表，哈希连接
+        //来源表都已连接的连表互相独立，作为一轮查询（并行模式下同时查询），查询完后按顺序连接
+        Set<String> joinedAliases = new HashSet<>(aliasClassMap.size() * 2);
+        joinedAliases.add(mainAlias);
+        while (!remainJoins.isEmpty()) {
+            List<JoinColumns> wave = new ArrayList<>(remainJoins.size());
+            for (JoinColumns joinColumns : remainJoins) {
+                if (joinedAliases.containsAll(joinColumns.getFromAliases())) {
+                    wave.add(joinColumns);
+                }
+            }
+            Assert.notEmpty(wave, "batch join can not resolve join order of [%s].", remainJoins.get(0).getJoinAlias());
+            List<Map<List<Object>, List<Object>>> joinRowMaps = this.fetchWave(wrapper, wave, rows);
+            for (int i = 0; i < wave.size(); i++) {
+                rows = this.join(wave.get(i), joinRowMaps.get(i), rows);
+                joinedAliases.add(wave.get(i).getJoinAlias());
+            }
+            remainJoins.removeAll(wave);
+        }
+        //3.填充dto
+        return this.toDtoList(rows, aliasClassMap, dtoClass);
+    }
+
+    /**
+     * 按主表条件查询主表
+     *
+     * @param wrapper 连表wrapper
+     * @return 主表实体
+     */
+    private List<?> selectMain(AbstractJoinWrapper<?, ?, ?> wrapper) {
+        Assert.isFalse(wrapper.hasGroupBy(), "batch join does not support GROUP BY.");
+        //查询列由dto属性决定，不使用wrapper设置的查询列
+        Assert.isTrue(wrapper.sqlColumn.isEmpty(), "batch join does not support select, dto is filled from table entities.");
+        String normalSegment = wrapper.getNormalSegment();
+        String orderByAndLastSegment = wrapper.getOrderByAndLastSegment();
+        for (String alias : wrapper.joinPartsMap.keySet()) {
+            Assert.isFalse(JoinLambdaUtil.isAliasReferenced(normalSegment + orderByAndLastSegment, alias),
+                    "batch join conditions can only use main table columns, found alias [%s].", alias);
+        }
+        JoinWrapper<?> mainWrapper = newWrapper(wrapper.getEntityClass(), wrapper.getTableAlias());
+        mainWrapper.copyParams(wrapper);
+        if (!wrapper.isWithLogicDelete()) {
+            mainWrapper.ignoreLogic();
+        }
+        if (StringUtils.isNotBlank(normalSegment)) {
+            mainWrapper.apply(normalSegment);
+        }
+        if (StringUtils.isNotBlank(orderByAndLastSegment)) {
+            mainWrapper.last(orderByAndLastSegment);
+        }
+        return this.withMapper(wrapper.getEntityClass(), mapper -> mapper.selectJoinList(mainWrapper));
+    }
+
+    /**
+     * 查询一轮互相独立的连表，并行模式下每个连表一个分支同时查询，同时查询的分支数不超过连接数上限
+     *
+     * @param wrapper 连表wrapper
+     * @param wave    互相独立的连表
+     * @param rows    已连接的行
+     * @return 每个连表的 Map<规范化的连表字段值,连表实体>
+     */
+    private List<Map<List<Object>, List<Object>>> fetchWave(AbstractJoinWrapper<?, ?, ?> wrapper,
+                                                             List<JoinColumns> wave, List<Map<String, Object>> rows) {
+        List<Map<List<Object>, List<Object>>> joinRowMaps = new ArrayList<>(wave.size());
+        if (null == this.executor || wave.size() == 1) {
+            for (JoinColumns joinColumns : wave) {
+                joinRowMaps.add(this.fetchBranch(wrapper, joinColumns, rows));
+            }
+            return joinRowMaps;
+        }
+        //每次请求的连接数预算
+        Semaphore connections = new Semaphore(this.maxConnections);
+        List<CompletableFuture<Map<List<Object>, List<Object>>>> futures = new ArrayList<>(wave.size());
+        for (JoinColumns joinColumns : wave) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                connections.acquireUninterruptibly();
+                try {
+                    return this.fetchBranch(wrapper, joinColumns, rows);
+                } finally {
+                    connections.release();
+                }
+            }, this.executor));
+        }
+        for (CompletableFuture<Map<List<Object>, List<Object>>> future : futures) {
+            try {
+                joinRowMaps.add(future.join());
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+        return joinRowMaps;
+    }
+
+    /**
+     * 查询一个连表分支：按来源行的连表字段值分批 IN 查询
+     *
+     * @param wrapper     连表wrapper
+     * @param joinColumns 连表字段
+     * @param rows        已连接的行
+     * @return Map<规范化的连表字段值,连表实体>
+     */
+    private Map<List<Object>, List<Object>> fetchBranch(AbstractJoinWrapper<?, ?, ?> wrapper,
+                                                        JoinColumns joinColumns, List<Map<String, Object>> rows) {
+        long start = System.nanoTime();
+        //去重的连表字段值，Map<规范化的值,原始值>
+        Map<List<Object>, List<Object>> keyMap = new LinkedHashMap<>(rows.size() * 4 / 3 + 1);
+        for (Map<String, Object> row : rows) {
+            List<Object> values = this.getValues(row, joinColumns.getFromColumns());
+            if (null != values) {
+                keyMap.putIfAbsent(normalize(values), values);
+            }
+        }
+        Map<List<Object>, List<Object>> joinRowMap = new HashMap<>(keyMap.size() * 4 / 3 + 1);
+        if (!keyMap.isEmpty()) {
+            List<List<Object>> keyList = new ArrayList<>(keyMap.values());
+            List<String[]> toColumns = joinColumns.getToColumns();
+            int step = Math.max(1, Math.min(this.batchSize, this.maxInSize / toColumns.size()));
+            this.withMapper(joinColumns.getJoinPart().getJoinClass(), mapper -> {
+                for (int i = 0; i < keyList.size(); i += step) {
+                    List<List<Object>> batch = keyList.subList(i, Math.min(i + step, keyList.size()));
+                    for (Object joinRow : mapper.selectJoinList(this.getJoinWrapper(wrapper, joinColumns, batch))) {
+                        Map<String, Object> row = Collections.singletonMap(joinColumns.getJoinAlias(), joinRow);
+                        List<Object> values = this.getValues(row, toColumns);
+                        if (null != values) {
+                            joinRowMap.computeIfAbsent(normalize(values), key -> new ArrayList<>(1)).add(joinRow);
+                        }
+                    }
+                }
+                return joinRowMap;
+            });
+        }
+        this.recordTiming(joinColumns.getJoinAlias(), start);
+        return joinRowMap;
+    }
+
+    /**
+     * 已有的行与连表哈希连接
+     *
+     * @param joinColumns 连表字段
+     * @param joinRowMap  Map<规范化的连表字段值,连表实体>
+     * @param rows        已连接的行
+     * @return 连接后的行
+     */
+    private List<Map<String, Object>> join(JoinColumns joinColumns, Map<List<Object>, List<Object>> joinRowMap,
+                                           List<Map<String, Object>> rows) {
+        List<Map<String, Object>> joinedRows = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            List<Object> values = this.getValues(row, joinColumns.getFromColumns());
+            List<Object> joinRows = null == values ? null : joinRowMap.get(normalize(values));
+            if (CollectionUtils.isEmpty(joinRows)) {
+                //左连接没有匹配时保留，连表为空
+                if (joinColumns.isLeft()) {
+                    joinedRows.add(row);
+                }
+                continue;
+            }
+            for (int i = 0; i < joinRows.size(); i++) {
+                Map<String, Object> joinedRow = i == joinRows.size() - 1 ? row : new HashMap<>(row);
+                joinedRow.put(joinColumns.getJoinAlias(), joinRows.get(i));
+                joinedRows.add(joinedRow);
+            }
+        }
+        return joinedRows;
+    }
+
+    /**
+     * 生成按连表字段值查询一批连表数据的wrapper
+     *
+     * @param wrapper     连表wrapper
+     * @param joinColumns 连表字段
+     * @param batch       连表字段值
+     * @return 连表查询wrapper
+     */
+    private JoinWrapper<?> getJoinWrapper(AbstractJoinWrapper<?, ?, ?> wrapper, JoinColumns joinColumns,
+                                          List<List<Object>> batch) {
+        JoinPart joinPart = joinColumns.getJoinPart();
+        List<String[]> toColumns = joinColumns.getToColumns();
+        JoinWrapper<?> joinWrapper = newWrapper(joinPart.getJoinClass(), joinPart.getTableAlias());
+        joinWrapper.copyParams(wrapper);
+        if (!wrapper.isWithLogicDelete()) {
+            joinWrapper.ignoreLogic();
+        }
+        if (toColumns.size() == 1) {
+            List<Object> values = new ArrayList<>(batch.size());
+            batch.forEach(value -> values.add(value.get(0)));
+            joinWrapper.in(String.join(StringPool.DOT, toColumns.get(0)), values);
+        } else {
+            //多字段：((a.c1 = {0} AND a.c2 = {1}) OR (...))
+            List<String> predicates = new ArrayList<>(batch.size());
+            List<Object> params = new ArrayList<>(batch.size() * toColumns.size());
+            for (List<Object> values : batch) {
+                List<String> predicate = new ArrayList<>(toColumns.size());
+                for (int i = 0; i < toColumns.size(); i++) {
+                    predicate.add(String.join(StringPool.DOT, toColumns.get(i)) + " = {" + params.size() + "}");
+                    params.add(values.get(i));
+                }
+                predicates.add(StringPool.LEFT_BRACKET + String.join(" AND ", predicate) + StringPool.RIGHT_BRACKET);
+            }
+            joinWrapper.apply(StringPool.LEFT_BRACKET + String.join(" OR ", predicates) + StringPool.RIGHT_BRACKET,
+                    params.toArray());
+        }
+        if (StringUtils.isNotBlank(joinPart.getApply())) {
+            joinWrapper.apply(joinPart.getApply());
+        }
+        return joinWrapper;
+    }
+
+    /**
+     * 填充dto，dto属性按 主表、连表顺序 取第一个有该属性的表（与dto查询列的生成规则一致）<br>
+     * dto属性类型需要与实体属性类型一致（或为其父类型、包装类型），不一致时抛出异常
+     *
+     * @param rows          连接后的行
+     * @param aliasClassMap 别名和表实体类
+     * @param dtoClass      dto类
+     * @param <Dto>         dto类型
+     * @return dto列表
+     */
+    private <Dto> List<Dto> toDtoList(List<Map<String, Object>> rows, Map<String, Class<?>> aliasClassMap,
+                                      Class<Dto> dtoClass) {
+        //Map<dto属性,别名>
+        Map<String, String> propertyAliasMap = new LinkedHashMap<>(16);
+        for (Field field : ReflectionKit.getFieldList(dtoClass)) {
+            TableField tableField = field.getAnnotation(TableField.class);
+            if (Modifier.isStatic(field.getModifiers()) || (null != tableField && !tableField.exist())) {
+                continue;
+            }
+            for (Map.Entry<String, Class<?>> aliasClass : aliasClassMap.entrySet()) {
+                if (getColumnPropertyMap(aliasClass.getValue()).containsValue(field.getName())) {
+                    Class<?> entityType = ReflectionKit.getFieldMap(aliasClass.getValue()).get(field.getName()).getType();
+                    Assert.isTrue(ReflectionKit.resolvePrimitiveIfNecessary(field.getType())
+                                    .isAssignableFrom(ReflectionKit.resolvePrimitiveIfNecessary(entityType)),
+                            "batch join can not fill dto property [%s.%s] of type [%s] from [%s] of type [%s].",
+                            dtoClass.getName(), field.getName(), field.getType().getName(),
+                            aliasClass.getValue().getName(), entityType.getName());
+                    propertyAliasMap.put(field.getName(), aliasClass.getKey());
+                    break;
+                }
+            }
+        }
+        List<Dto> dtoList = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            Dto dto = ClassUtils.newInstance(dtoClass);
+            MetaObject dtoMetaObject = SystemMetaObject.forObject(dto);
+            propertyAliasMap.forEach((property, alias) -> {
+                Object entity = row.get(alias);
+                if (null == entity) {
+                    return;
+                }
+                Object value = SystemMetaObject.forObject(entity).getValue(property);
+                if (null != value) {
+                    dtoMetaObject.setValue(property, value);
+                }
+            });
+            dtoList.add(dto);
+        }
+        return dtoList;
+    }
+
+    /**
+     * 获取行中的连表字段值
+     *
+     * @param row     行，Map<别名,实体>
+     * @param columns 连表字段，[别名,字段]
+     * @return 字段值，有空值时返回null（空值不参与连接）
+     */
+    private List<Object> getValues(Map<String, Object> row, List<String[]> columns) {
+        List<Object> values = new ArrayList<>(columns.size());
+        for (String[] column : columns) {
+            Object entity = row.get(column[0]);
+            if (null == entity) {
+                return null;
+            }
+            String property = getColumnPropertyMap(entity.getClass()).get(column[1]);
+            Assert.notNull(property, "can not find property for column [%s] in class [%s].",
+                    column[1], entity.getClass().getName());
+            Object value = SystemMetaObject.forObject(entity).getValue(property);
+            if (null == value) {
+                return null;
+            }
+            values.add(value);
+        }
+        return values;
+    }
+
+    /**
+     * 使用实体类对应的mapper查询，会话工厂模式下打开独立会话，查询完关闭
+     *
+     * @param entityClass 实体类
+     * @param function    查询
+     * @param <E>         返回类型
+     * @return 查询结果
+     */
+    private <E> E withMapper(Class<?> entityClass, Function<JoinMapper<?>, E> function) {
+        if (null != this.sqlSession) {
+            return function.apply(getMapper(this.sqlSession, entityClass));
+        }
+        try (SqlSession session = this.sqlSessionFactory.openSession()) {
+            return function.apply(getMapper(session, entityClass));
+        }
+    }
+
+    /**
+     * 记录分支耗时
+     *
+     * @param alias 别名
+     * @param start 开始时间（纳秒）
+     */
+    private void recordTiming(String alias, long start) {
+        long costMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        this.branchTimings.put(alias, costMillis);
+        log.debug("batch join branch [{}] cost {} ms", alias, costMillis);
+    }
+
+    /**
+     * 获取实体类对应的mapper，mapper需要继承 {@link JoinMapper}
+     *
+     * @param sqlSession  会话
+     * @param entityClass 实体类
+     * @return mapper
+     */
+    private static JoinMapper<?> getMapper(SqlSession sqlSession, Class<?> entityClass) {
+        TableInfo tableInfo = TableInfoHelper.getTableInfo(entityClass);
+        Assert.notNull(tableInfo, "can not find table info for class [%s].", entityClass.getName());
+        Class<?> mapperClass = ClassUtils.toClassConfident(tableInfo.getCurrentNamespace());
+        Assert.isTrue(JoinMapper.class.isAssignableFrom(mapperClass),
+                "mapper [%s] must extend JoinMapper for batch join.", mapperClass.getName());
+        return (JoinMapper<?>) sqlSession.getMapper(mapperClass);
+    }
+
+    /**
+     * 获取实体类的 表字段和实体属性
+     *
+     * @param entityClass 实体类
+     * @return Map<表字段,实体属性>
+     */
+    private static Map<String, String> getColumnPropertyMap(Class<?> entityClass) {
+        return COLUMN_PROPERTY_CACHE_MAP.computeIfAbsent(entityClass, clazz -> {
+            TableInfo tableInfo = TableInfoHelper.getTableInfo(clazz);
+            if (null == tableInfo) {
+                return Collections.emptyMap();
+            }
+            Map<String, String> columnPropertyMap = new HashMap<>(tableInfo.getFieldList().size() * 4 / 3 + 2);
+            if (tableInfo.havePK()) {
+                columnPropertyMap.put(tableInfo.getKeyColumn(), tableInfo.getKeyProperty());
+            }
+            tableInfo.getFieldList().forEach(tableFieldInfo ->
+                    columnPropertyMap.put(tableFieldInfo.getColumn(), tableFieldInfo.getProperty()));
+            return Collections.unmodifiableMap(columnPropertyMap);
+        });
+    }
+
+    /**
+     * 拆分连表字段
+     *
+     * @param field        连表字段，如 s.student_id 或 student_id
+     * @param defaultAlias 没有别名时使用的别名
+     * @return [别名,字段]
+     */
+    private static String[] splitColumn(String field, String defaultAlias) {
+        int index = field.indexOf(StringPool.DOT);
+        return index < 0 ? new String[]{defaultAlias, field} :
+                new String[]{field.substring(0, index), field.substring(index + 1)};
+    }
+
+    /**
+     * 规范化连表字段值，数值按数值比较（如 Integer 1 和 Long 1 相等）
+     *
+     * @param values 字段值
+     * @return 规范化的值
+     */
+    private static List<Object> normalize(List<Object> values) {
+        List<Object> normalized = new ArrayList<>(values.size());
+        for (Object value : values) {
+            normalized.add(value instanceof Number ? new BigDecimal(value.toString()).stripTrailingZeros() : value);
+        }
+        return normalized;
+    }
+
+    /**
+     * 创建单表的连表wrapper，查询全部字段
+     *
+     * @param entityClass 实体类
+     * @param alias       别名
+     * @param <E>         实体类型
+     * @return wrapper
+     */
+    private static <E> JoinWrapper<E> newWrapper(Class<E> entityClass, String alias) {
+        return new JoinWrapper<>(entityClass, alias, null);
+    }
+
+    /**
+     * 连表字段
+     */
+    private static class JoinColumns {
+
+        private final JoinPart joinPart;
+
+        /**
+         * 是否左连接，否则为内连接
+         */
+        private final boolean isLeft;
+
+        /**
+         * 来源表字段，[别名,字段]
+         */
+        private final List<String[]> fromColumns;
+
+        /**
+         * 连表字段，[别名,字段]
+         */
+        private final List<String[]> toColumns;
+
+        /**
+         * 来源表别名
+         */
+        private final Set<String> fromAliases;
+
+        JoinColumns(AbstractJoinWrapper<?, ?, ?> wrapper, JoinPart joinPart, Set<String> aliases) {
+            this.joinPart = joinPart;
+            this.isLeft = JoinPart.JoinType.LEFT_JOIN.equalsIgnoreCase(joinPart.getJoinType());
+            Assert.isTrue(isLeft || JoinPart.JoinType.INNER_JOIN.equalsIgnoreCase(joinPart.getJoinType()),
+                    "batch join supports LEFT and INNER join only, found [%s].", joinPart.getJoinType());
+            String joinAlias = joinPart.getTableAlias();
+            String fromAlias = StringUtils.isBlank(joinPart.getFromTableAlias()) ?
+                    wrapper.getTableAlias() : joinPart.getFromTableAlias();
+            this.fromColumns = new ArrayList<>(joinPart.getJoinFieldsMap().size());
+            this.toColumns = new ArrayList<>(joinPart.getJoinFieldsMap().size());
+            this.fromAliases = new HashSet<>(4);
+            joinPart.getJoinFieldsMap().forEach((fromField, toField) -> {
+                Assert.isFalse(toField.startsWith("plain:") || toField.startsWith("in:"),
+                        "batch join does not support constant join field [%s].", toField);
+                String[] toColumn = splitColumn(toField, joinAlias);
+                Assert.isTrue(joinAlias.equals(toColumn[0]), "batch join field [%s] must belong to [%s].", toField, joinAlias);
+                String[] fromColumn = splitColumn(fromField, fromAlias);
+                this.fromColumns.add(fromColumn);
+                this.fromAliases.add(fromColumn[0]);
+                this.toColumns.add(toColumn);
+            });
+            if (StringUtils.isNotBlank(joinPart.getApply())) {
+                for (String alias : aliases) {
+                    Assert.isFalse(!alias.equals(joinAlias) && JoinLambdaUtil.isAliasReferenced(joinPart.getApply(), alias),
+                            "batch join condition of [%s] can not use alias [%s].", joinAlias, alias);
+                }
+            }
+        }
+
+        JoinPart getJoinPart() {
+            return joinPart;
+        }
+
+        String getJoinAlias() {
+            return joinPart.getTableAlias();
+        }
+
+        boolean isLeft() {
+            return isLeft;
+        }
+
+        List<String[]> getFromColumns() {
+            return fromColumns;
+        }
+
+        List<String[]> getToColumns() {
+            return toColumns;
+        }
+
+        Set<String> getFromAliases() {
+            return fromAliases;
+        }
+    }
+
+    /**
+     * 默认线程池，用到时才创建：支持虚拟线程（jdk21+）时每个分支一个虚拟线程，否则使用守护线程的缓存线程池
+     */
+    private static class DefaultExecutorHolder {
+
+        private static final Executor EXECUTOR = createExecutor();
+
+        private static Executor createExecutor() {
+            try {
+                Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                return (Executor) method.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                AtomicInteger threadSeq = new AtomicInteger();
+                return Executors.newCachedThreadPool(runnable -> {
+                    Thread thread = new Thread(runnable, "batch-join-" + threadSeq.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+        }
+    }
+}
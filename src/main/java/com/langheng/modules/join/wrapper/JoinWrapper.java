@@ -1,6 +1,6 @@
 package com.langheng.modules.join.wrapper;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
@@ -55,7 +55,10 @@ public class JoinWrapper<T> extends AbstractJoinWrapper<T, String, JoinWrapper<T
      */
     @Override
     protected JoinWrapper<T> instance() {
-        return new JoinWrapper<>(this.getEntityClass(), tableAlias, this.getSelectClass());
+        JoinWrapper<T> joinWrapper = new JoinWrapper<>(this.getEntityClass(), tableAlias, this.getSelectClass());
+        //嵌套条件不重复添加附加条件（由外层wrapper添加）
+        joinWrapper.isCacheCondition = true;
+        return joinWrapper;
     }
 
     /**
@@ -92,7 +95,7 @@ public class JoinWrapper<T> extends AbstractJoinWrapper<T, String, JoinWrapper<T
      * @return this
      */
     private <R> JoinWrapper<T> join(String joinType, String fromField, String toField, Class<R> clazz, Function<JoinWrapper<R>, JoinWrapper<R>> func) {
-        Map<String, String> joinFieldsMap = new HashMap<>(1);
+        Map<String, String> joinFieldsMap = new LinkedHashMap<>(1);
         joinFieldsMap.put(fromField, toField);
         return join(joinType, joinFieldsMap, clazz, func);
     }
@@ -124,7 +127,7 @@ public class JoinWrapper<T> extends AbstractJoinWrapper<T, String, JoinWrapper<T
                 .setTableName(joinWrapper.tableName)
                 .setTableAlias(joinWrapper.tableAlias)
                 .setJoinFieldsMap(joinFieldMap);
-        this.joinPartsMap.put(joinWrapper.tableAlias, joinPart);
+        this.putJoinPart(joinWrapper.tableAlias, joinPart);
 
         //合并联表信息
         joinWrapper.joinPartsMap.forEach((alias, joinPartInfo) -> {
@@ -134,7 +137,7 @@ public class JoinWrapper<T> extends AbstractJoinWrapper<T, String, JoinWrapper<T
             //重新设置联表来源表别名和目标表别名
             joinPartInfo.setFromTableAlias(joinWrapper.tableAlias)
                     .setTableAlias(alias);
-            this.joinPartsMap.put(alias, joinPartInfo);
+            this.putJoinPart(alias, joinPartInfo);
         });
 
         //合并查询字段
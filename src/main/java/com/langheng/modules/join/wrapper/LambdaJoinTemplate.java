@@ -0,0 +1,82 @@
+package com.langheng.modules.join.wrapper;
+
+import java.util.function.Consumer;
+
+import com.baomidou.mybatisplus.core.enums.SqlKeyword;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/18 9:20 下午
+ * @description 冻结的连表查询模板（不可变，可在多线程中共用）<br>
+ * 保存连表、查询列、设置和静态条件（已生成的sql片段及参数值），每次请求通过 {@link #bind()} 获取新的wrapper，
+ * 只需添加本次请求的条件，连表、查询列和lambda解析不再重复处理<br>
+ * <pre>
+ * private static final LambdaJoinTemplate&lt;Student&gt; TEMPLATE = new LambdaJoinWrapper&lt;&gt;(Student.class, StudentVo.class)
+ *         .leftJoin(UserClass.class, Student::getStudentId, UserClass::getStudentId)
+ *         .gt(Student::getAge, 18)
+ *         .freeze();
+ *
+ * studentMapper.findVoList(TEMPLATE.bind().eq(Student::getName, name));
+ * </pre>
+ */
+public class LambdaJoinTemplate<Main> {
+
+    /**
+     * 模板wrapper（只读）
+     */
+    private final LambdaJoinWrapper<Main> template;
+
+    /**
+     * 静态常规条件
+     */
+    private final String normalSegment;
+
+    /**
+     * 静态分组（不带关键字）
+     */
+    private final String groupBy;
+
+    /**
+     * 静态having（不带关键字）
+     */
+    private final String having;
+
+    /**
+     * 静态排序（不带关键字）
+     */
+    private final String orderBy;
+
+    LambdaJoinTemplate(LambdaJoinWrapper<Main> source) {
+        this.normalSegment = source.getNormalSegment();
+        this.groupBy = source.getStaticSegment(SqlKeyword.GROUP_BY);
+        this.having = source.getStaticSegment(SqlKeyword.HAVING);
+        this.orderBy = source.getStaticSegment(SqlKeyword.ORDER_BY);
+        //复制一份（不添加静态条件，只保存连表、查询列、设置和参数值），冻结后修改原wrapper不影响模板
+        this.template = new LambdaJoinWrapper<>(source.getEntityClass(), source.getTableAlias(), source.getSelectClass());
+        this.template.copyTemplate(source, "", "", "", "");
+    }
+
+    /**
+     * 获取可执行的wrapper，包含模板的连表、查询列和静态条件
+     *
+     * @return 新的wrapper
+     */
+    public LambdaJoinWrapper<Main> bind() {
+        LambdaJoinWrapper<Main> wrapper = new LambdaJoinWrapper<>(template.getEntityClass(), template.getTableAlias(),
+                template.getSelectClass());
+        wrapper.copyTemplate(template, normalSegment, groupBy, having, orderBy);
+        return wrapper;
+    }
+
+    /**
+     * 获取可执行的wrapper，并添加本次请求的条件
+     *
+     * @param condition 本次请求的条件
+     * @return 新的wrapper
+     */
+    public LambdaJoinWrapper<Main> bind(Consumer<LambdaJoinWrapper<Main>> condition) {
+        LambdaJoinWrapper<Main> wrapper = this.bind();
+        condition.accept(wrapper);
+        return wrapper;
+    }
+}
@@ -1,24 +1,31 @@
 package com.langheng.modules.join.wrapper;
 
 import java.text.MessageFormat;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
-import org.apache.ibatis.reflection.property.PropertyNamer;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.SystemMetaObject;
 
 import com.baomidou.mybatisplus.core.conditions.ISqlSegment;
+import com.baomidou.mybatisplus.core.enums.SqlKeyword;
 import com.baomidou.mybatisplus.core.exceptions.MybatisPlusException;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
 import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
-import com.baomidou.mybatisplus.core.toolkit.LambdaUtils;
+import com.baomidou.mybatisplus.core.toolkit.Assert;
+import com.baomidou.mybatisplus.core.toolkit.ReflectionKit;
 import com.baomidou.mybatisplus.core.toolkit.StringPool;
 import com.baomidou.mybatisplus.core.toolkit.StringUtils;
-import com.baomidou.mybatisplus.core.toolkit.support.LambdaMeta;
 import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
 import com.langheng.modules.join.support.AlisColumnCache;
 import com.langheng.modules.join.support.JoinLambdaUtil;
 import com.langheng.modules.join.support.JoinPart;
+import com.langheng.modules.join.support.JoinSeekToken;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -32,6 +39,11 @@ import lombok.extern.slf4j.Slf4j;
 public class LambdaJoinWrapper<Main>
         extends AbstractJoinWrapper<Main, SFunction<Main, ?>, LambdaJoinWrapper<Main>> {
 
+    /**
+     * 游标分页的排序字段（最后一个为主表主键）
+     */
+    private List<AlisColumnCache> seekKeys = Collections.emptyList();
+
     public LambdaJoinWrapper(Class<Main> entityClass, String tableAlias, Class<?> selectClass) {
         super(entityClass, tableAlias, selectClass);
     }
@@ -53,6 +65,18 @@ public class LambdaJoinWrapper<Main>
         this.tableAlias = tableAlias;
     }
 
+    /**
+     * 冻结为不可变的查询模板，保存连表、查询列和静态条件，每次请求通过 {@link LambdaJoinTemplate#bind()} 获取新的wrapper<br>
+     * 需要在生成sql前冻结，不支持主表优先分页和游标分页（每次请求不同）
+     *
+     * @return 查询模板
+     */
+    public LambdaJoinTemplate<Main> freeze() {
+        Assert.isFalse(this.isRendered() || !this.seekKeys.isEmpty(),
+                "freeze wrapper before rendering sql, main first page and seek are not supported.");
+        return new LambdaJoinTemplate<>(this);
+    }
+
     /**
      * 用于生成嵌套 sql
      * <p>故 sqlSelect 不向下传递</p>
@@ -63,6 +87,8 @@ public class LambdaJoinWrapper<Main>
         lambdaJoinWrapper.classAlisMap = this.classAlisMap;
         lambdaJoinWrapper.paramNameSeq = this.paramNameSeq;
         lambdaJoinWrapper.paramNameValuePairs = this.paramNameValuePairs;
+        //嵌套条件不重复添加附加条件（由外层wrapper添加）
+        lambdaJoinWrapper.isCacheCondition = true;
         return lambdaJoinWrapper;
     }
 
@@ -165,7 +191,7 @@ public class LambdaJoinWrapper<Main>
         //联表字段
         String joinField = alisColumnToString(joinColumn);
         //生成连表字段Map
-        Map<String, String> joinFieldsMap = new HashMap<>(1);
+        Map<String, String> joinFieldsMap = new LinkedHashMap<>(1);
         joinFieldsMap.put(mainField, joinField);
         //生成联表缓存联表信息
         JoinPart joinPart = new JoinPart();
@@ -176,13 +202,15 @@ public class LambdaJoinWrapper<Main>
                 .setFromTableAlias(getTableAlias())
                 .setJoinFieldsMap(joinFieldsMap);
         //添加到连表信息Map中
-        this.joinPartsMap.put(joinTableAlias, joinPart);
+        this.putJoinPart(joinTableAlias, joinPart);
         //将连表添加到缓存map中
         classAlisMap.put(joinClass, joinTableAlias);
 
         //子实例
+        //使用连表的别名，并沿用当前的表别名，保证连表条件中的别名与连表一致
         LambdaJoinWrapper<Join> child =
-                new LambdaJoinWrapper<>(joinClass, this.getSelectClass());
+                new LambdaJoinWrapper<>(joinClass, joinTableAlias, this.getSelectClass());
+        child.classAlisMap.putAll(this.classAlisMap);
         child.paramNameSeq = this.paramNameSeq;
         function.apply(child);
         String apply = child.getExpression().getNormal().stream()
@@ -212,20 +240,12 @@ public class LambdaJoinWrapper<Main>
      * @return 返回表字段，如 t1.user_id
      */
     private String alisColumnToString(SFunction<?, ?> column) {
-        //解析表达式
-        LambdaMeta serializedLambda = LambdaUtils.extract(column);
-        //获取列明
-        String fieldName = PropertyNamer.methodToProperty(serializedLambda.getImplMethodName());
-        //获取实体类类型
-        Class<?> instantiatedClass = serializedLambda.getInstantiatedClass();
-        //尝试缓存
-        JoinLambdaUtil.tryInitCache(instantiatedClass);
-        //获取缓存
-        AlisColumnCache alisColumnCache = JoinLambdaUtil.getAlisColumnCache(fieldName, instantiatedClass);
+        //获取缓存（lambda解析结果已缓存，不再重复反射解析）
+        AlisColumnCache alisColumnCache = JoinLambdaUtil.getAlisColumnCache(column);
         //lambda表达式的类是否有自定义别名
-        if (classAlisMap.containsKey(instantiatedClass)) {
+        String alis = classAlisMap.get(alisColumnCache.getEntityClass());
+        if (null != alis) {
             //有自定义别名，直接拼接
-            String alis = classAlisMap.get(instantiatedClass);
             return alis
                     .concat(StringPool.DOT)
                     .concat(alisColumnCache.getColumn());
@@ -258,4 +278,135 @@ public class LambdaJoinWrapper<Main>
         }
         return (LambdaJoinWrapper<M>) typedThis;
     }
+
+    /**
+     * 游标分页（seek），按一个排序字段分页，见 {@link #seek(String, long, boolean, SFunction[])}
+     * <pre>
+     * wrapper.seek(token, 20, true, Student::getAge);
+     * List&lt;StudentVo&gt; list = studentMapper.findVoList(wrapper);
+     * String nextToken = wrapper.getContinuationToken(list.get(list.size() - 1));
+     * </pre>
+     *
+     * @param token 续页令牌，第一页传null
+     * @param size  每页数量
+     * @param isAsc 是否升序
+     * @param key   排序字段
+     * @param <T>   排序字段的表类型
+     * @return this
+     */
+    public <T> LambdaJoinWrapper<Main> seek(String token, long size, boolean isAsc, SFunction<T, ?> key) {
+        return this.seek(token, size, isAsc, new SFunction<?, ?>[]{key});
+    }
+
+    /**
+     * 游标分页（seek），按排序字段上一页最后一行的值取下一页，不使用 OFFSET，翻页开销与页数无关<br>
+     * 排序字段可以是主表或内连接表的字段，没有主表主键时自动添加主表主键作为最后的排序字段<br>
+     * 续页条件不处理NULL：左、右连接表的字段可能为NULL，不能作为排序字段，有右连接时不能使用；主表字段需要非空，最后一行的值为NULL时无法生成续页令牌<br>
+     * 续页令牌按属性名从dto读取排序字段的值，排序字段（包括主表主键）的属性名不能重复<br>
+     * 生成条件：(k1 > v1 OR (k1 = v1 AND k2 > v2) OR ...) ORDER BY k1, k2 ... LIMIT size<br>
+     * 排序和数量由seek生成，不能再使用orderBy、last（调用前已设置时抛出异常）；LIMIT 语法只适用于MySQL、PostgreSQL、H2、SQLite等数据库<br>
+     * <pre>
+     * SFunction&lt;Student, ?&gt; ageKey = Student::getAge;
+     * SFunction&lt;UserClass, ?&gt; classKey = UserClass::getClassInfoId;
+     * wrapper.seek(token, 20, true, ageKey, classKey);
+     * </pre>
+     *
+     * @param token 续页令牌，第一页传null
+     * @param size  每页数量
+     * @param isAsc 是否升序
+     * @param keys  排序字段
+     * @return this
+     */
+    public LambdaJoinWrapper<Main> seek(String token, long size, boolean isAsc, SFunction<?, ?>... keys) {
+        Assert.isTrue(size > 0, "seek size must be positive.");
+        Assert.isTrue(expression.getOrderBy().isEmpty() && StringUtils.isBlank(lastSql.getStringValue()),
+                "seek generates ORDER BY and LIMIT, it can not be used with orderBy or last.");
+        TableInfo tableInfo = TableInfoHelper.getTableInfo(getEntityClass());
+        Assert.isTrue(null != tableInfo && tableInfo.havePK(),
+                "seek requires primary key of table [%s].", getEntityClass().getName());
+        //排序字段，主表主键作为最后的排序字段保证顺序唯一
+        List<AlisColumnCache> seekKeys = new ArrayList<>(keys.length + 1);
+        for (SFunction<?, ?> key : keys) {
+            seekKeys.add(JoinLambdaUtil.getAlisColumnCache(key));
+        }
+        boolean hasMainKey = seekKeys.stream().anyMatch(key -> getEntityClass().equals(key.getEntityClass())
+                && tableInfo.getKeyProperty().equals(key.getProperty()));
+        if (!hasMainKey) {
+            seekKeys.add(JoinLambdaUtil.getAlisColumnCache(tableInfo.getKeyProperty(), getEntityClass()));
+        }
+        Assert.isFalse(joinPartsMap.values().stream().anyMatch(joinPart -> JoinPart.JoinType.RIGHT_JOIN.equals(joinPart.getJoinType())),
+                "seek is not supported with right join, main table columns may be null.");
+        for (AlisColumnCache seekKey : seekKeys) {
+            if (getEntityClass().equals(seekKey.getEntityClass())) {
+                continue;
+            }
+            String alis = classAlisMap.get(seekKey.getEntityClass());
+            JoinPart joinPart = joinPartsMap.get(null != alis ? alis : seekKey.getAlis());
+            Assert.isTrue(null != joinPart, "seek key [%s] is not a column of main or joined table.", seekKey.getAlisColumn());
+            Assert.isTrue(JoinPart.JoinType.INNER_JOIN.equals(joinPart.getJoinType()),
+                    "seek key [%s] may be null in %s join, only main or inner joined table columns are supported.",
+                    seekKey.getAlisColumn(), joinPart.getJoinType());
+        }
+        Assert.isTrue(seekKeys.stream().map(AlisColumnCache::getProperty).distinct().count() == seekKeys.size(),
+                "seek keys %s have the same property, continuation token reads keys from row by property.",
+                seekKeys.stream().map(AlisColumnCache::getAlisColumn).collect(Collectors.toList()));
+        this.seekKeys = seekKeys;
+
+        List<String> columns = new ArrayList<>(seekKeys.size());
+        List<Class<?>> types = new ArrayList<>(seekKeys.size());
+        for (AlisColumnCache seekKey : seekKeys) {
+            String alis = classAlisMap.get(seekKey.getEntityClass());
+            columns.add(null != alis ? alis.concat(StringPool.DOT).concat(seekKey.getColumn()) : seekKey.getAlisColumn());
+            types.add(ReflectionKit.getFieldMap(seekKey.getEntityClass()).get(seekKey.getProperty()).getType());
+        }
+        //续页条件
+        List<Object> values = JoinSeekToken.decode(token, types);
+        if (!values.isEmpty()) {
+            String compare = isAsc ? " > " : " < ";
+            List<String> predicates = new ArrayList<>(columns.size());
+            for (int i = 0; i < columns.size(); i++) {
+                StringBuilder predicate = new StringBuilder(StringPool.LEFT_BRACKET);
+                for (int j = 0; j < i; j++) {
+                    predicate.append(columns.get(j)).append(" = {").append(j).append("} AND ");
+                }
+                predicate.append(columns.get(i)).append(compare).append('{').append(i).append('}')
+                        .append(StringPool.RIGHT_BRACKET);
+                predicates.add(predicate.toString());
+            }
+            this.apply(StringPool.LEFT_BRACKET + String.join(" OR ", predicates) + StringPool.RIGHT_BRACKET,
+                    values.toArray());
+        }
+        //排序和数量
+        for (String column : columns) {
+            this.appendSqlSegments(SqlKeyword.ORDER_BY, () -> column, isAsc ? SqlKeyword.ASC : SqlKeyword.DESC);
+        }
+        return this.last("LIMIT " + size);
+    }
+
+    /**
+     * 获取下一页的续页令牌
+     *
+     * @param lastRow 当前页最后一行（dto需要包含排序字段的属性）
+     * @return 续页令牌，没有数据返回null
+     */
+    public String getContinuationToken(Object lastRow) {
+        if (null == lastRow || this.seekKeys.isEmpty()) {
+            return null;
+        }
+        MetaObject metaObject = SystemMetaObject.forObject(lastRow);
+        List<Object> values = new ArrayList<>(this.seekKeys.size());
+        for (AlisColumnCache seekKey : this.seekKeys) {
+            if (!metaObject.hasGetter(seekKey.getProperty())) {
+                throw new MybatisPlusException(MessageFormat.format("row class [{0}] has no seek property [{1}]",
+                        lastRow.getClass().getName(), seekKey.getProperty()));
+            }
+            Object value = metaObject.getValue(seekKey.getProperty());
+            if (null == value) {
+                throw new MybatisPlusException(MessageFormat.format("seek property [{0}] of row is null, seek keys must be not null",
+                        seekKey.getProperty()));
+            }
+            values.add(value);
+        }
+        return JoinSeekToken.encode(values);
+    }
 }
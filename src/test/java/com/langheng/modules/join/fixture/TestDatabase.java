@@ -0,0 +1,85 @@
+package com.langheng.modules.join.fixture;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.MybatisSqlSessionFactoryBuilder;
+import com.baomidou.mybatisplus.core.toolkit.GlobalConfigUtils;
+import com.langheng.modules.join.fixture.mapper.ClassInfoMapper;
+import com.langheng.modules.join.fixture.mapper.ScoreMapper;
+import com.langheng.modules.join.fixture.mapper.StudentMapper;
+import com.langheng.modules.join.fixture.mapper.TeacherMapper;
+import com.langheng.modules.join.fixture.mapper.UserClassMapper;
+import com.langheng.modules.join.injector.JoinSqlInjector;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/19 9:30 上午
+ * @description 测试内存数据库（H2），每次启动重建表结构和数据，启动mybatis-plus
+ * <p>数据：张三选了两个班（一对多），李四选了一个班，王五没有选课，孙七已逻辑删除；
+ * 张三、李四、王五、孙七属于租户1，赵六属于租户2；成绩按 学生+班级 记录，李四在没有选的二班也有一条成绩</p>
+ */
+public final class TestDatabase {
+
+    private static final String[] SCHEMA = {
+            "DROP ALL OBJECTS",
+            "CREATE TABLE student (student_id BIGINT PRIMARY KEY, name VARCHAR(64), age INT, tenant_id BIGINT, deleted INT DEFAULT 0)",
+            "CREATE TABLE user_class (user_class_id BIGINT PRIMARY KEY, student_id BIGINT, class_info_id BIGINT, tenant_id BIGINT, deleted INT DEFAULT 0)",
+            "CREATE TABLE class_info (class_info_id BIGINT PRIMARY KEY, class_name VARCHAR(64), teacher_id BIGINT)",
+            "CREATE TABLE teacher (teacher_id BIGINT PRIMARY KEY, teacher_name VARCHAR(64))",
+            "CREATE TABLE score (score_id BIGINT PRIMARY KEY, student_id BIGINT, class_info_id BIGINT, score INT)"
+    };
+
+    private static final String[] DATA = {
+            "INSERT INTO student VALUES (1, '张三', 18, 1, 0), (2, '李四', 19, 1, 0), (3, '王五', 20, 1, 0), "
+                    + "(4, '赵六', 21, 2, 0), (5, '孙七', 22, 1, 1)",
+            "INSERT INTO user_class VALUES (1, 1, 1, 1, 0), (2, 1, 2, 1, 0), (3, 2, 1, 1, 0), (4, 4, 3, 2, 0), (5, 5, 1, 1, 0)",
+            "INSERT INTO class_info VALUES (1, '软件一班', 1), (2, '软件二班', 1), (3, '软件三班', 2)",
+            "INSERT INTO teacher VALUES (1, '王老师'), (2, '李老师')",
+            "INSERT INTO score VALUES (1, 1, 1, 90), (2, 1, 2, 80), (3, 2, 1, 70), (4, 2, 2, 60)"
+    };
+
+    private TestDatabase() {
+    }
+
+    /**
+     * 重建数据库并启动mybatis-plus（注册 {@link JoinSqlInjector}）
+     *
+     * @param interceptors 注册的mybatis插件
+     * @return SqlSessionFactory
+     */
+    public static SqlSessionFactory start(Interceptor... interceptors) throws SQLException {
+        PooledDataSource dataSource = new PooledDataSource("org.h2.Driver",
+                "jdbc:h2:mem:join_test;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String sql : SCHEMA) {
+                statement.execute(sql);
+            }
+            for (String sql : DATA) {
+                statement.execute(sql);
+            }
+        }
+
+        MybatisConfiguration configuration = new MybatisConfiguration();
+        configuration.setEnvironment(new Environment("test", new JdbcTransactionFactory(), dataSource));
+        GlobalConfigUtils.getGlobalConfig(configuration).setSqlInjector(new JoinSqlInjector());
+        configuration.addMapper(StudentMapper.class);
+        configuration.addMapper(UserClassMapper.class);
+        configuration.addMapper(ClassInfoMapper.class);
+        configuration.addMapper(TeacherMapper.class);
+        configuration.addMapper(ScoreMapper.class);
+        for (Interceptor interceptor : interceptors) {
+            configuration.addInterceptor(interceptor);
+        }
+        return new MybatisSqlSessionFactoryBuilder().build(configuration);
+    }
+}
@@ -0,0 +1,23 @@
+package com.langheng.modules.join.fixture.entity;
+
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+
+import lombok.Data;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/19 9:30 上午
+ * @description 测试：班级信息表
+ */
+@Data
+@TableName("class_info")
+public class ClassInfo {
+
+    @TableId
+    private Long classInfoId;
+
+    private String className;
+
+    private Long teacherId;
+}
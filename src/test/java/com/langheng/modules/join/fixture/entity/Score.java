@@ -0,0 +1,25 @@
+package com.langheng.modules.join.fixture.entity;
+
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+
+import lombok.Data;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/19 9:30 上午
+ * @description 测试：成绩表，按 学生+班级 两个字段与选课连接
+ */
+@Data
+@TableName("score")
+public class Score {
+
+    @TableId
+    private Long scoreId;
+
+    private Long studentId;
+
+    private Long classInfoId;
+
+    private Integer score;
+}
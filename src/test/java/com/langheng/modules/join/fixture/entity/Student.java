@@ -0,0 +1,27 @@
+package com.langheng.modules.join.fixture.entity;
+
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableLogic;
+import com.baomidou.mybatisplus.annotation.TableName;
+
+import lombok.Data;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/19 9:30 上午
+ * @description 测试：学生表
+ */
+@Data
+@TableName("student")
+public class Student {
+
+    @TableId
+    private Long studentId;
+
+    private String name;
+
+    private Integer age;
+
+    @TableLogic
+    private Integer deleted;
+}
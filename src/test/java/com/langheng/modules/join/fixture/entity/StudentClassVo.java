@@ -0,0 +1,22 @@
+package com.langheng.modules.join.fixture.entity;
+
+import lombok.Data;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/19 9:30 上午
+ * @description 测试：学生班级查询结果（连接选课、班级）
+ */
+@Data
+public class StudentClassVo {
+
+    private Long studentId;
+
+    private String name;
+
+    private Long userClassId;
+
+    private Long classInfoId;
+
+    private String className;
+}
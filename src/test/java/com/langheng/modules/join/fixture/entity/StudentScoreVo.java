@@ -0,0 +1,20 @@
+package com.langheng.modules.join.fixture.entity;
+
+import lombok.Data;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/19 9:30 上午
+ * @description 测试：学生成绩查询结果（连接选课、成绩）
+ */
+@Data
+public class StudentScoreVo {
+
+    private Long studentId;
+
+    private String name;
+
+    private Long classInfoId;
+
+    private Integer score;
+}
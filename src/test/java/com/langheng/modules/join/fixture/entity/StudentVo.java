@@ -0,0 +1,18 @@
+package com.langheng.modules.join.fixture.entity;
+
+import lombok.Data;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/19 9:30 上午
+ * @description 测试：学生查询结果（只有主表字段）
+ */
+@Data
+public class StudentVo {
+
+    private Long studentId;
+
+    private String name;
+
+    private Integer age;
+}
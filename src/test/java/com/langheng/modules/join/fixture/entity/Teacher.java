@@ -0,0 +1,21 @@
+package com.langheng.modules.join.fixture.entity;
+
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+
+import lombok.Data;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/19 9:30 上午
+ * @description 测试：教师表
+ */
+@Data
+@TableName("teacher")
+public class Teacher {
+
+    @TableId
+    private Long teacherId;
+
+    private String teacherName;
+}
@@ -0,0 +1,27 @@
+package com.langheng.modules.join.fixture.entity;
+
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableLogic;
+import com.baomidou.mybatisplus.annotation.TableName;
+
+import lombok.Data;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/19 9:30 上午
+ * @description 测试：学生班级关联表（选课）
+ */
+@Data
+@TableName("user_class")
+public class UserClass {
+
+    @TableId
+    private Long userClassId;
+
+    private Long studentId;
+
+    private Long classInfoId;
+
+    @TableLogic
+    private Integer deleted;
+}
@@ -0,0 +1,18 @@
+package com.langheng.modules.join.fixture.entity;
+
+import lombok.Data;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/19 6:00 下午
+ * @description 测试：选课查询结果（只有选课表字段）
+ */
+@Data
+public class UserClassVo {
+
+    private Long userClassId;
+
+    private Long studentId;
+
+    private Long classInfoId;
+}
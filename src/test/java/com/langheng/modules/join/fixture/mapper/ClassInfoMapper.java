@@ -0,0 +1,12 @@
+package com.langheng.modules.join.fixture.mapper;
+
+import com.langheng.modules.join.fixture.entity.ClassInfo;
+import com.langheng.modules.join.mapper.JoinMapper;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/19 9:30 上午
+ * @description 测试：班级信息表 mapper
+ */
+public interface ClassInfoMapper extends JoinMapper<ClassInfo> {
+}
@@ -0,0 +1,44 @@
+package com.langheng.modules.join.fixture.mapper;
+
+import java.util.List;
+
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.langheng.modules.join.annotation.JoinOn;
+import com.langheng.modules.join.annotation.JoinSelect;
+import com.langheng.modules.join.fixture.entity.ClassInfo;
+import com.langheng.modules.join.fixture.entity.Student;
+import com.langheng.modules.join.fixture.entity.StudentClassVo;
+import com.langheng.modules.join.fixture.entity.StudentVo;
+import com.langheng.modules.join.fixture.entity.UserClass;
+import com.langheng.modules.join.mapper.JoinMapper;
+import com.langheng.modules.join.support.JoinLambdaUtil;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/19 9:30 上午
+ * @description 测试：学生 mapper
+ */
+public interface StudentMapper extends JoinMapper<Student> {
+
+    @Select(JoinLambdaUtil.SELECT_TEMPLATE)
+    List<StudentVo> findVoList(@Param("ew") Wrapper<?> wrapper);
+
+    @Select(JoinLambdaUtil.SELECT_TEMPLATE)
+    List<StudentClassVo> findClassVoList(@Param("ew") Wrapper<?> wrapper);
+
+    @Select(JoinLambdaUtil.SELECT_TEMPLATE)
+    IPage<StudentVo> findVoPage(IPage<StudentVo> page, @Param("ew") Wrapper<?> wrapper);
+
+    @Select(JoinLambdaUtil.COUNT_TEMPLATE)
+    Long findVoCount(@Param("ew") Wrapper<?> wrapper);
+
+    @JoinSelect(alias = "s", dto = StudentClassVo.class,
+            joins = {@JoinOn(value = UserClass.class, fromColumn = "student_id", joinColumn = "student_id"),
+                    @JoinOn(value = ClassInfo.class, from = "uc", fromColumn = "class_info_id", joinColumn = "class_info_id")},
+            orderBy = "uc.user_class_id")
+    List<StudentClassVo> findClassVoListByJoinSelect();
+}
@@ -0,0 +1,12 @@
+package com.langheng.modules.join.fixture.mapper;
+
+import com.langheng.modules.join.fixture.entity.Teacher;
+import com.langheng.modules.join.mapper.JoinMapper;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/19 9:30 上午
+ * @description 测试：教师表 mapper
+ */
+public interface TeacherMapper extends JoinMapper<Teacher> {
+}
@@ -0,0 +1,26 @@
+package com.langheng.modules.join.fixture.mapper;
+
+import java.util.List;
+
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.langheng.modules.join.fixture.entity.UserClass;
+import com.langheng.modules.join.fixture.entity.UserClassVo;
+import com.langheng.modules.join.mapper.JoinMapper;
+import com.langheng.modules.join.support.JoinLambdaUtil;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/19 9:30 上午
+ * @description 测试：学生班级关联表 mapper
+ */
+public interface UserClassMapper extends JoinMapper<UserClass> {
+
+    @Select(JoinLambdaUtil.SELECT_TEMPLATE)
+    List<UserClassVo> findVoList(@Param("ew") Wrapper<?> wrapper);
+
+    @Select(JoinLambdaUtil.COUNT_TEMPLATE)
+    Long findVoCount(@Param("ew") Wrapper<?> wrapper);
+}
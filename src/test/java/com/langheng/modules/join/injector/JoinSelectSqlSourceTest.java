@@ -0,0 +1,103 @@
+package com.langheng.modules.join.injector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.handler.TenantLineHandler;
+import com.langheng.modules.join.fixture.TestDatabase;
+import com.langheng.modules.join.fixture.entity.StudentClassVo;
+import com.langheng.modules.join.fixture.mapper.StudentMapper;
+import com.langheng.modules.join.plugins.JoinTenantLineInnerInterceptor;
+import com.langheng.modules.join.support.JoinConditionRegistry;
+import com.langheng.modules.join.support.TenantJoinConditionHandler;
+
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.LongValue;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/19 9:30 上午
+ * @description {@link JoinSelectSqlSource} 测试：静态sql被所有租户共用，每次执行按当前租户添加条件
+ */
+class JoinSelectSqlSourceTest {
+
+    private static final String STATEMENT_ID = StudentMapper.class.getName() + ".findClassVoListByJoinSelect";
+
+    /**
+     * 当前租户
+     */
+    private static final AtomicLong TENANT_ID = new AtomicLong(1);
+
+    private static TenantJoinConditionHandler tenantJoinConditionHandler;
+
+    private static SqlSessionFactory sqlSessionFactory;
+
+    @BeforeAll
+    static void setUp() throws SQLException {
+        tenantJoinConditionHandler = new TenantJoinConditionHandler(new TenantLineHandler() {
+            @Override
+            public Expression getTenantId() {
+                return new LongValue(TENANT_ID.get());
+            }
+
+            @Override
+            public boolean ignoreTable(String tableName) {
+                return !"student".equals(tableName) && !"user_class".equals(tableName);
+            }
+        });
+        JoinConditionRegistry.register(tenantJoinConditionHandler);
+        MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
+        interceptor.addInnerInterceptor(new JoinTenantLineInnerInterceptor(tenantJoinConditionHandler));
+        sqlSessionFactory = TestDatabase.start(interceptor);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        JoinConditionRegistry.unregister(tenantJoinConditionHandler);
+    }
+
+    @Test
+    void staticSqlUsesTenantOfEachExecution() {
+        assertEquals(Arrays.asList("张三", "张三", "李四", "王五"), this.selectNames(1));
+        assertEquals(Collections.singletonList("赵六"), this.selectNames(2));
+        //先执行的租户不影响后面的租户
+        assertEquals(Arrays.asList("张三", "张三", "李四", "王五"), this.selectNames(1));
+        assertEquals(Collections.singletonList("赵六"), this.selectNames(2));
+    }
+
+    @Test
+    void staticSqlHasNoTenantCondition() {
+        TENANT_ID.set(1);
+        String sql = sqlSessionFactory.getConfiguration().getMappedStatement(STATEMENT_ID)
+                .getSqlSource().getBoundSql(null).getSql();
+        assertFalse(sql.contains("tenant_id"), sql);
+    }
+
+    /**
+     * 按租户执行 {@link com.langheng.modules.join.annotation.JoinSelect} 查询
+     *
+     * @param tenantId 租户
+     * @return 排序后的学生姓名
+     */
+    private List<String> selectNames(long tenantId) {
+        TENANT_ID.set(tenantId);
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            return sqlSession.getMapper(StudentMapper.class).findClassVoListByJoinSelect().stream()
+                    .map(StudentClassVo::getName).sorted().collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.langheng.modules.join.plugins;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.core.exceptions.MybatisPlusException;
+import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.handler.TenantLineHandler;
+import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.inner.TenantLineInnerInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.langheng.modules.join.fixture.TestDatabase;
+import com.langheng.modules.join.fixture.entity.Student;
+import com.langheng.modules.join.fixture.entity.StudentVo;
+import com.langheng.modules.join.fixture.entity.Teacher;
+import com.langheng.modules.join.fixture.mapper.StudentMapper;
+import com.langheng.modules.join.fixture.mapper.TeacherMapper;
+import com.langheng.modules.join.wrapper.LambdaJoinWrapper;
+
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.LongValue;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/19 11:00 上午
+ * @description {@link JoinResultCacheInterceptor} 测试：缓存key为分页、多租户插件改写后的sql，
+ * 不同页、不同租户不会命中彼此的缓存；提交后只清除写入的表的缓存，回滚不清除；插件顺序错误时开启缓存的查询抛出异常
+ */
+class JoinResultCacheInterceptorTest {
+
+    /**
+     * 当前租户
+     */
+    private static final AtomicLong TENANT_ID = new AtomicLong(1);
+
+    private static JoinResultCacheInterceptor cacheInterceptor;
+
+    private static SqlSessionFactory sqlSessionFactory;
+
+    @BeforeAll
+    static void setUp() throws SQLException {
+        cacheInterceptor = new JoinResultCacheInterceptor();
+        //结果缓存先添加，作为最内层的执行器插件
+        sqlSessionFactory = TestDatabase.start(cacheInterceptor, newMybatisPlusInterceptor());
+    }
+
+    @BeforeEach
+    void clearCache() {
+        cacheInterceptor.clear();
+        TENANT_ID.set(1);
+    }
+
+    @Test
+    void pagesAreCachedSeparately() {
+        long hits = cacheInterceptor.getHits();
+        for (int i = 0; i < 2; i++) {
+            Page<StudentVo> first = this.selectPage(1);
+            assertEquals(Arrays.asList("张三", "李四"), names(first.getRecords()));
+            assertEquals(3, first.getTotal());
+            Page<StudentVo> second = this.selectPage(2);
+            assertEquals(Collections.singletonList("王五"), names(second.getRecords()));
+            assertEquals(3, second.getTotal());
+        }
+        //第一轮第二页的计数与第一页相同，命中缓存；第二轮的分页和计数查询都命中缓存
+        assertEquals(5, cacheInterceptor.getHits() - hits);
+    }
+
+    @Test
+    void tenantsAreCachedSeparately() {
+        long hits = cacheInterceptor.getHits();
+        long misses = cacheInterceptor.getMisses();
+        for (int i = 0; i < 2; i++) {
+            TENANT_ID.set(1);
+            assertEquals(Arrays.asList("张三", "李四", "王五"), names(this.selectList()));
+            TENANT_ID.set(2);
+            assertEquals(Collections.singletonList("赵六"), names(this.selectList()));
+        }
+        assertEquals(2, cacheInterceptor.getMisses() - misses);
+        assertEquals(2, cacheInterceptor.getHits() - hits);
+    }
+
+    @Test
+    void commitEvictsWrittenTableOnly() {
+        assertEquals(Arrays.asList(18, 19, 20), ages(this.selectList()));
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            Teacher teacher = new Teacher();
+            teacher.setTeacherId(1L);
+            teacher.setTeacherName("王老师");
+            sqlSession.getMapper(TeacherMapper.class).updateById(teacher);
+            sqlSession.commit();
+        }
+        //写入没有查询的表，缓存保留
+        long hits = cacheInterceptor.getHits();
+        assertEquals(Arrays.asList(18, 19, 20), ages(this.selectList()));
+        assertEquals(1, cacheInterceptor.getHits() - hits);
+
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            updateAge(sqlSession, 30);
+            //提交前其他会话读到缓存，写入的会话不使用缓存，读到自己的写入
+            assertEquals(Arrays.asList(18, 19, 20), ages(this.selectList()));
+            assertEquals(Arrays.asList(30, 19, 20), ages(selectList(sqlSession)));
+            sqlSession.commit();
+            //提交后清除学生表的缓存
+            assertEquals(Arrays.asList(30, 19, 20), ages(this.selectList()));
+        } finally {
+            try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+                updateAge(sqlSession, 18);
+                sqlSession.commit();
+            }
+        }
+        assertEquals(Arrays.asList(18, 19, 20), ages(this.selectList()));
+    }
+
+    @Test
+    void rollbackKeepsCache() {
+        assertEquals(Arrays.asList(18, 19, 20), ages(this.selectList()));
+        long misses = cacheInterceptor.getMisses();
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            updateAge(sqlSession, 40);
+            assertEquals(Arrays.asList(40, 19, 20), ages(selectList(sqlSession)));
+            sqlSession.rollback();
+        }
+        assertEquals(Arrays.asList(18, 19, 20), ages(this.selectList()));
+        assertEquals(misses, cacheInterceptor.getMisses());
+    }
+
+    @Test
+    void wrongPluginOrderFailsFast() throws SQLException {
+        SqlSessionFactory wrongOrderFactory = TestDatabase.start(newMybatisPlusInterceptor(), new JoinResultCacheInterceptor());
+        try (SqlSession sqlSession = wrongOrderFactory.openSession()) {
+            StudentMapper studentMapper = sqlSession.getMapper(StudentMapper.class);
+            //没有开启结果缓存的查询不受影响
+            assertEquals(3, studentMapper.findVoList(new LambdaJoinWrapper<>(Student.class, StudentVo.class)).size());
+            PersistenceException exception = assertThrows(PersistenceException.class,
+                    () -> studentMapper.findVoList(new LambdaJoinWrapper<>(Student.class, StudentVo.class).cacheResult()));
+            assertTrue(exception.getCause() instanceof MybatisPlusException, String.valueOf(exception.getCause()));
+        }
+    }
+
+    private static MybatisPlusInterceptor newMybatisPlusInterceptor() {
+        MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
+        interceptor.addInnerInterceptor(new TenantLineInnerInterceptor(new TenantLineHandler() {
+            @Override
+            public Expression getTenantId() {
+                return new LongValue(TENANT_ID.get());
+            }
+
+            @Override
+            public boolean ignoreTable(String tableName) {
+                return !"student".equals(tableName) && !"user_class".equals(tableName);
+            }
+        }));
+        interceptor.addInnerInterceptor(new PaginationInnerInterceptor(DbType.H2));
+        return interceptor;
+    }
+
+    private List<StudentVo> selectList() {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            return selectList(sqlSession);
+        }
+    }
+
+    private static List<StudentVo> selectList(SqlSession sqlSession) {
+        return sqlSession.getMapper(StudentMapper.class).findVoList(new LambdaJoinWrapper<>(Student.class, StudentVo.class)
+                .cacheResult()
+                .orderByAsc(Student::getStudentId));
+    }
+
+    /**
+     * 修改张三的年龄
+     *
+     * @param sqlSession 会话
+     * @param age        年龄
+     */
+    private static void updateAge(SqlSession sqlSession, int age) {
+        Student student = new Student();
+        student.setStudentId(1L);
+        student.setAge(age);
+        sqlSession.getMapper(StudentMapper.class).updateById(student);
+    }
+
+    private Page<StudentVo> selectPage(long current) {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            Page<StudentVo> page = new Page<>(current, 2);
+            sqlSession.getMapper(StudentMapper.class).findVoPage(page, new LambdaJoinWrapper<>(Student.class, StudentVo.class)
+                    .cacheResult()
+                    .orderByAsc(Student::getStudentId));
+            return page;
+        }
+    }
+
+    private static List<String> names(List<StudentVo> studentVoList) {
+        return studentVoList.stream().map(StudentVo::getName).collect(Collectors.toList());
+    }
+
+    private static List<Integer> ages(List<StudentVo> studentVoList) {
+        return studentVoList.stream().map(StudentVo::getAge).collect(Collectors.toList());
+    }
+}
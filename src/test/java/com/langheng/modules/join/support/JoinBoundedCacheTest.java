@@ -0,0 +1,75 @@
+package com.langheng.modules.join.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/19 2:30 下午
+ * @description {@link JoinBoundedCache} 测试：数量不超过上限，淘汰最久没有访问的缓存，并发读写不丢失已有缓存
+ */
+class JoinBoundedCacheTest {
+
+    @Test
+    void evictsLeastRecentlyAccessed() {
+        JoinBoundedCache<Integer, String> cache = new JoinBoundedCache<>(100);
+        for (int i = 0; i < 100; i++) {
+            assertNull(cache.putIfAbsent(i, "v" + i));
+        }
+        assertEquals("v0", cache.putIfAbsent(0, "other"));
+        //访问前10个，淘汰时保留
+        for (int i = 0; i < 10; i++) {
+            assertEquals("v" + i, cache.get(i));
+        }
+        cache.putIfAbsent(100, "v100");
+
+        assertEquals(90, cache.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals("v" + i, cache.get(i));
+        }
+        assertEquals("v100", cache.get(100));
+        //最久没有访问的被淘汰
+        assertNull(cache.get(10));
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void concurrentPutStaysBounded() throws Exception {
+        JoinBoundedCache<Integer, Integer> cache = new JoinBoundedCache<>(64);
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int offset = t * 10000;
+                futures.add(executorService.submit(() -> {
+                    for (int i = 0; i < 10000; i++) {
+                        Integer key = offset + i;
+                        cache.putIfAbsent(key, key);
+                        Integer value = cache.get(key);
+                        //刚添加的可能被其他线程淘汰，读到的值必须是自己的
+                        assertTrue(null == value || key.equals(value));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        //淘汰期间其他线程仍可以添加，数量可能暂时超过上限，之后添加时再次淘汰
+        cache.putIfAbsent(-1, -1);
+        assertTrue(cache.size() <= 64, "size: " + cache.size());
+    }
+}
@@ -0,0 +1,278 @@
+package com.langheng.modules.join.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableLogic;
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.baomidou.mybatisplus.core.toolkit.LambdaUtils;
+
+import lombok.Data;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/19 12:10 上午
+ * @description 连表字段缓存并发初始化测试：多个线程同时首次获取同一个类的字段缓存，
+ * 每个类只生成一次，所有线程拿到同一个完整的只读缓存；一个类生成时不阻塞其他类的生成
+ */
+class JoinLambdaUtilConcurrencyTest {
+
+    private static final int THREADS = 32;
+
+    private static final Class<?>[] ENTITY_CLASSES = {
+            ConcurrencyStudent.class, ConcurrencyTeacher.class, ConcurrencyClassInfo.class, ConcurrencyUserClass.class
+    };
+
+    /**
+     * 每个类生成字段缓存的次数：生成缓存时遍历一次表字段（{@link TableInfo#getFieldList()}）
+     */
+    private static final Map<Class<?>, AtomicInteger> BUILD_COUNT_MAP = new ConcurrentHashMap<>();
+
+    /**
+     * 阻塞生成的类开始生成的信号
+     */
+    private static final CountDownLatch BLOCKED_BUILD_STARTED = new CountDownLatch(1);
+
+    /**
+     * 放行阻塞生成的类
+     */
+    private static final CountDownLatch BLOCKED_BUILD_RELEASED = new CountDownLatch(1);
+
+    private static ExecutorService executorService;
+
+    @BeforeAll
+    static void setUp() throws ReflectiveOperationException {
+        MybatisConfiguration configuration = new MybatisConfiguration();
+        Field fieldListField = TableInfo.class.getDeclaredField("fieldList");
+        fieldListField.setAccessible(true);
+        for (Class<?> entityClass : ENTITY_CLASSES) {
+            AtomicInteger buildCount = new AtomicInteger();
+            BUILD_COUNT_MAP.put(entityClass, buildCount);
+            initTableInfo(configuration, fieldListField, entityClass, fieldList -> new CountingList(fieldList, buildCount, null));
+        }
+        initTableInfo(configuration, fieldListField, ConcurrencyBlockedScore.class,
+                fieldList -> new CountingList(fieldList, new AtomicInteger(), () -> {
+                    BLOCKED_BUILD_STARTED.countDown();
+                    try {
+                        BLOCKED_BUILD_RELEASED.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+        initTableInfo(configuration, fieldListField, ConcurrencyTeacherClass.class,
+                fieldList -> new CountingList(fieldList, new AtomicInteger(), null));
+        executorService = Executors.newFixedThreadPool(THREADS);
+    }
+
+    /**
+     * 初始化实体类的表信息，替换表字段集合
+     *
+     * @param configuration   配置
+     * @param fieldListField  表字段集合的反射字段
+     * @param entityClass     实体类
+     * @param fieldListMapper 替换表字段集合
+     */
+    private static void initTableInfo(MybatisConfiguration configuration, Field fieldListField, Class<?> entityClass,
+                                      Function<List<TableFieldInfo>, CountingList> fieldListMapper)
+            throws ReflectiveOperationException {
+        MapperBuilderAssistant assistant = new MapperBuilderAssistant(configuration, "");
+        assistant.setCurrentNamespace(entityClass.getName() + "Mapper");
+        TableInfo tableInfo = TableInfoHelper.initTableInfo(assistant, entityClass);
+        //mybatis-plus的字段缓存先初始化，之后遍历表字段的只有连表字段缓存的生成
+        LambdaUtils.getColumnMap(entityClass);
+        @SuppressWarnings("unchecked")
+        List<TableFieldInfo> fieldList = (List<TableFieldInfo>) fieldListField.get(tableInfo);
+        fieldListField.set(tableInfo, fieldListMapper.apply(fieldList));
+    }
+
+    @AfterAll
+    static void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    void concurrentFirstAccessBuildsOnce() throws Exception {
+        for (Class<?> entityClass : ENTITY_CLASSES) {
+            int expectedSize = LambdaUtils.getColumnMap(entityClass).size();
+            CountDownLatch ready = new CountDownLatch(THREADS);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Map<String, AlisColumnCache>>> futures = new ArrayList<>(THREADS);
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executorService.submit(() -> {
+                    ready.countDown();
+                    start.await();
+                    Map<String, AlisColumnCache> columnCacheMap = JoinLambdaUtil.getColumnCacheMap(entityClass);
+                    //读取时缓存必须已完整生成
+                    assertEquals(expectedSize, columnCacheMap.size(), entityClass.getSimpleName());
+                    columnCacheMap.values().forEach(alisColumnCache -> {
+                        assertNotNull(alisColumnCache.getAlisColumn());
+                        assertSame(entityClass, alisColumnCache.getEntityClass());
+                    });
+                    return columnCacheMap;
+                }));
+            }
+            assertTrue(ready.await(10, TimeUnit.SECONDS));
+            start.countDown();
+
+            Map<String, AlisColumnCache> first = futures.get(0).get(10, TimeUnit.SECONDS);
+            for (Future<Map<String, AlisColumnCache>> future : futures) {
+                assertSame(first, future.get(10, TimeUnit.SECONDS), entityClass.getSimpleName());
+            }
+            assertEquals(1, BUILD_COUNT_MAP.get(entityClass).get(), entityClass.getSimpleName());
+            //所有字段的别名相同（同一次生成）
+            assertEquals(1, first.values().stream().map(AlisColumnCache::getAlis).distinct().count());
+            assertThrows(UnsupportedOperationException.class, () -> first.put("name", null));
+            //已缓存时直接读取，不再生成
+            for (int i = 0; i < 100; i++) {
+                assertSame(first, JoinLambdaUtil.getColumnCacheMap(entityClass));
+            }
+            assertEquals(1, BUILD_COUNT_MAP.get(entityClass).get(), entityClass.getSimpleName());
+        }
+    }
+
+    @Test
+    void blockedBuildDoesNotBlockOtherClasses() throws Exception {
+        Future<Map<String, AlisColumnCache>> blocked = executorService.submit(
+                () -> JoinLambdaUtil.getColumnCacheMap(ConcurrencyBlockedScore.class));
+        assertTrue(BLOCKED_BUILD_STARTED.await(10, TimeUnit.SECONDS));
+        //同一个类的其他线程等待正在生成的任务
+        Future<Map<String, AlisColumnCache>> waiting = executorService.submit(
+                () -> JoinLambdaUtil.getColumnCacheMap(ConcurrencyBlockedScore.class));
+        try {
+            //阻塞生成期间，其他类正常生成
+            Future<Map<String, AlisColumnCache>> other = executorService.submit(
+                    () -> JoinLambdaUtil.getColumnCacheMap(ConcurrencyTeacherClass.class));
+            assertEquals(LambdaUtils.getColumnMap(ConcurrencyTeacherClass.class).size(), other.get(10, TimeUnit.SECONDS).size());
+            assertFalse(blocked.isDone());
+            assertFalse(waiting.isDone());
+        } finally {
+            BLOCKED_BUILD_RELEASED.countDown();
+        }
+        assertSame(blocked.get(10, TimeUnit.SECONDS), waiting.get(10, TimeUnit.SECONDS));
+    }
+
+    /**
+     * 记录遍历次数的表字段集合，可以在遍历前阻塞
+     */
+    private static class CountingList extends ArrayList<TableFieldInfo> {
+
+        private static final long serialVersionUID = 5243817730265914093L;
+
+        private final AtomicInteger count;
+
+        private final transient Runnable beforeForEach;
+
+        CountingList(Collection<TableFieldInfo> fieldList, AtomicInteger count, Runnable beforeForEach) {
+            super(fieldList);
+            this.count = count;
+            this.beforeForEach = beforeForEach;
+        }
+
+        @Override
+        public void forEach(Consumer<? super TableFieldInfo> action) {
+            count.incrementAndGet();
+            if (null != beforeForEach) {
+                beforeForEach.run();
+            }
+            super.forEach(action);
+        }
+    }
+
+    @Data
+    @TableName("concurrency_student")
+    public static class ConcurrencyStudent {
+
+        @TableId
+        private Long studentId;
+
+        private String name;
+
+        private Integer age;
+
+        @TableLogic
+        private String status;
+    }
+
+    @Data
+    @TableName("concurrency_teacher")
+    public static class ConcurrencyTeacher {
+
+        @TableId
+        private Long teacherId;
+
+        private String teacherName;
+    }
+
+    @Data
+    @TableName("concurrency_class_info")
+    public static class ConcurrencyClassInfo {
+
+        @TableId
+        private Long classInfoId;
+
+        private String className;
+
+        private Long teacherId;
+    }
+
+    @Data
+    @TableName("concurrency_user_class")
+    public static class ConcurrencyUserClass {
+
+        @TableId
+        private Long userClassId;
+
+        private Long studentId;
+
+        private Long classInfoId;
+    }
+
+    @Data
+    @TableName("concurrency_blocked_score")
+    public static class ConcurrencyBlockedScore {
+
+        @TableId
+        private Long scoreId;
+
+        private Integer score;
+    }
+
+    @Data
+    @TableName("concurrency_teacher_class")
+    public static class ConcurrencyTeacherClass {
+
+        @TableId
+        private Long teacherClassId;
+
+        private Long teacherId;
+    }
+}
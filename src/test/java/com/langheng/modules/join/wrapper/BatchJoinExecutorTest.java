@@ -0,0 +1,139 @@
+package com.langheng.modules.join.wrapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.baomidou.mybatisplus.core.exceptions.MybatisPlusException;
+import com.langheng.modules.join.fixture.TestDatabase;
+import com.langheng.modules.join.fixture.entity.ClassInfo;
+import com.langheng.modules.join.fixture.entity.Score;
+import com.langheng.modules.join.fixture.entity.Student;
+import com.langheng.modules.join.fixture.entity.StudentClassVo;
+import com.langheng.modules.join.fixture.entity.StudentScoreVo;
+import com.langheng.modules.join.fixture.entity.UserClass;
+import com.langheng.modules.join.fixture.mapper.StudentMapper;
+
+import lombok.Data;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/19 5:00 下午
+ * @description {@link BatchJoinExecutor} 测试：左连接保留没有匹配的主表行，内连接去掉，一对多连表行数膨胀，
+ * 多字段连表按全部字段匹配，内连接结果与连表sql查询一致
+ */
+class BatchJoinExecutorTest {
+
+    private static SqlSessionFactory sqlSessionFactory;
+
+    @BeforeAll
+    static void setUp() throws SQLException {
+        sqlSessionFactory = TestDatabase.start();
+    }
+
+    @Test
+    void leftJoinKeepsUnmatchedMainRows() {
+        List<String> expected = Arrays.asList("张三:1:软件一班", "张三:2:软件二班", "李四:3:软件一班", "王五:null:null", "赵六:4:软件三班");
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            List<StudentClassVo> batchList = new BatchJoinExecutor(sqlSession)
+                    .selectList(newClassWrapper(false), StudentClassVo.class);
+            //连表的逻辑删除条件相当于放在 ON 中，没有选课的王五保留
+            assertEquals(expected, classRows(batchList));
+        }
+    }
+
+    @Test
+    void innerJoinDropsUnmatchedMainRows() {
+        List<String> expected = Arrays.asList("张三:1:软件一班", "张三:2:软件二班", "李四:3:软件一班", "赵六:4:软件三班");
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            List<StudentClassVo> batchList = new BatchJoinExecutor(sqlSession).setBatchSize(1)
+                    .selectList(newClassWrapper(true), StudentClassVo.class);
+            assertEquals(expected, classRows(batchList));
+            //与连表sql查询的结果一致
+            assertEquals(expected, classRows(sqlSession.getMapper(StudentMapper.class).findClassVoList(newClassWrapper(true))));
+        }
+    }
+
+    @Test
+    void multiColumnJoinMatchesAllColumns() {
+        Map<String, String> scoreJoinFieldMap = new LinkedHashMap<>(2);
+        scoreJoinFieldMap.put("student_id", "student_id");
+        scoreJoinFieldMap.put("class_info_id", "class_info_id");
+        JoinWrapper<Student> wrapper = new JoinWrapper<>(Student.class, StudentScoreVo.class)
+                .innerJoin("student_id", "student_id", UserClass.class,
+                        userClass -> userClass.leftJoin(scoreJoinFieldMap, Score.class, Function.identity()));
+        //李四在没有选的二班的成绩不会连接
+        List<StudentScoreVo> scoreList = new BatchJoinExecutor(sqlSessionFactory).setBatchSize(1)
+                .selectList(wrapper, StudentScoreVo.class);
+        assertEquals(Arrays.asList("1:张三:1:90", "1:张三:2:80", "2:李四:1:70", "4:赵六:3:null"),
+                scoreList.stream()
+                        .map(vo -> vo.getStudentId() + ":" + vo.getName() + ":" + vo.getClassInfoId() + ":" + vo.getScore())
+                        .sorted().collect(Collectors.toList()));
+    }
+
+    @Test
+    void rejectsSelectedColumns() {
+        LambdaJoinWrapper<Student> wrapper = newClassWrapper(false).select(Student::getName);
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            assertThrows(MybatisPlusException.class,
+                    () -> new BatchJoinExecutor(sqlSession).selectList(wrapper, StudentClassVo.class));
+        }
+    }
+
+    @Test
+    void rejectsMismatchedDtoType() {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            assertThrows(MybatisPlusException.class, () -> new BatchJoinExecutor(sqlSession)
+                    .selectList(new LambdaJoinWrapper<>(Student.class, StudentTextVo.class), StudentTextVo.class));
+        }
+    }
+
+    private static LambdaJoinWrapper<Student> newClassWrapper(boolean isInner) {
+        LambdaJoinWrapper<Student> wrapper = new LambdaJoinWrapper<>(Student.class, StudentClassVo.class);
+        if (isInner) {
+            wrapper.innerJoin(UserClass.class, Student::getStudentId, UserClass::getStudentId, Function.identity());
+        } else {
+            wrapper.leftJoin(UserClass.class, Student::getStudentId, UserClass::getStudentId);
+        }
+        return wrapper.joinTo(UserClass.class)
+                .leftJoin(ClassInfo.class, UserClass::getClassInfoId, ClassInfo::getClassInfoId)
+                .main(Student.class)
+                .orderByAsc(Student::getStudentId);
+    }
+
+    /**
+     * 按 姓名:选课id:班级名 排序，忽略一对多连表行的顺序
+     *
+     * @param studentClassVoList 查询结果
+     * @return 排序后的行
+     */
+    private static List<String> classRows(List<StudentClassVo> studentClassVoList) {
+        return studentClassVoList.stream()
+                .map(vo -> vo.getName() + ":" + vo.getUserClassId() + ":" + vo.getClassName())
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 学生id为字符串的dto，与实体的Long类型不一致
+     */
+    @Data
+    public static class StudentTextVo {
+
+        private String studentId;
+
+        private String name;
+    }
+}
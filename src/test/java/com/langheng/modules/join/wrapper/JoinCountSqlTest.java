@@ -0,0 +1,115 @@
+package com.langheng.modules.join.wrapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.SQLException;
+
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.langheng.modules.join.fixture.TestDatabase;
+import com.langheng.modules.join.fixture.entity.ClassInfo;
+import com.langheng.modules.join.fixture.entity.Student;
+import com.langheng.modules.join.fixture.entity.StudentVo;
+import com.langheng.modules.join.fixture.entity.Teacher;
+import com.langheng.modules.join.fixture.entity.UserClass;
+import com.langheng.modules.join.fixture.entity.UserClassVo;
+import com.langheng.modules.join.fixture.mapper.StudentMapper;
+import com.langheng.modules.join.fixture.mapper.UserClassMapper;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/19 6:00 下午
+ * @description {@link AbstractJoinWrapper#getCountSql()} 测试：计数与查询行数一致，去重计数主表行，
+ * 分组时计数分组数，没有引用的主键左连接不参与计数
+ */
+class JoinCountSqlTest {
+
+    private static SqlSessionFactory sqlSessionFactory;
+
+    @BeforeAll
+    static void setUp() throws SQLException {
+        sqlSessionFactory = TestDatabase.start();
+    }
+
+    @Test
+    void countMatchesOneToManyRows() {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            StudentMapper studentMapper = sqlSession.getMapper(StudentMapper.class);
+            //选课表不是按主键连接，一对多的行都计数
+            assertEquals(4, studentMapper.findVoList(newStudentWrapper()).size());
+            assertEquals(4L, studentMapper.findVoCount(newStudentWrapper()));
+        }
+    }
+
+    @Test
+    void countDistinctCountsMainRows() {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            LambdaJoinWrapper<Student> wrapper = newStudentWrapper().countDistinct();
+            assertEquals(3L, sqlSession.getMapper(StudentMapper.class).findVoCount(wrapper));
+        }
+    }
+
+    @Test
+    void groupByCountsGroups() {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            StudentMapper studentMapper = sqlSession.getMapper(StudentMapper.class);
+            //张三的两条选课合并为一组
+            assertEquals(3, studentMapper.findVoList(newAgeGroupWrapper()).size());
+            LambdaJoinWrapper<Student> wrapper = newAgeGroupWrapper();
+            assertEquals(3L, studentMapper.findVoCount(wrapper));
+            assertTrue(wrapper.getCountSql().contains("GROUP BY"), wrapper.getCountSql());
+        }
+    }
+
+    @Test
+    void unreferencedPrimaryKeyJoinsAreEliminated() {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            UserClassMapper userClassMapper = sqlSession.getMapper(UserClassMapper.class);
+            LambdaJoinWrapper<UserClass> wrapper = newUserClassWrapper();
+            assertEquals(5L, userClassMapper.findVoCount(wrapper));
+            assertFalse(wrapper.getCountSql().contains("JOIN"), wrapper.getCountSql());
+            assertEquals(5, userClassMapper.findVoList(newUserClassWrapper()).size());
+        }
+    }
+
+    @Test
+    void referencedJoinIsKeptInCount() {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            UserClassMapper userClassMapper = sqlSession.getMapper(UserClassMapper.class);
+            LambdaJoinWrapper<UserClass> wrapper = newUserClassWrapper()
+                    .joinTo(ClassInfo.class).eq(ClassInfo::getClassName, "软件一班").main(UserClass.class);
+            assertEquals(3L, userClassMapper.findVoCount(wrapper));
+            //班级表有条件保留，教师表没有引用仍然去掉
+            String countSql = wrapper.getCountSql();
+            assertTrue(countSql.contains("class_info"), countSql);
+            assertFalse(countSql.contains("teacher"), countSql);
+            assertEquals(3, userClassMapper.findVoList(newUserClassWrapper()
+                    .joinTo(ClassInfo.class).eq(ClassInfo::getClassName, "软件一班").main(UserClass.class)).size());
+        }
+    }
+
+    private static LambdaJoinWrapper<Student> newStudentWrapper() {
+        return new LambdaJoinWrapper<>(Student.class, StudentVo.class)
+                .leftJoin(UserClass.class, Student::getStudentId, UserClass::getStudentId);
+    }
+
+    private static LambdaJoinWrapper<Student> newAgeGroupWrapper() {
+        return newStudentWrapper().select(Student::getAge).groupBy(Student::getAge);
+    }
+
+    /**
+     * 选课表按主键连接班级表，班级表按主键连接教师表
+     */
+    private static LambdaJoinWrapper<UserClass> newUserClassWrapper() {
+        return new LambdaJoinWrapper<>(UserClass.class, UserClassVo.class)
+                .leftJoin(ClassInfo.class, UserClass::getClassInfoId, ClassInfo::getClassInfoId)
+                .joinTo(ClassInfo.class)
+                .leftJoin(Teacher.class, ClassInfo::getTeacherId, Teacher::getTeacherId)
+                .main(UserClass.class);
+    }
+}
@@ -0,0 +1,106 @@
+package com.langheng.modules.join.wrapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.langheng.modules.join.fixture.TestDatabase;
+import com.langheng.modules.join.fixture.entity.ClassInfo;
+import com.langheng.modules.join.fixture.entity.Score;
+import com.langheng.modules.join.fixture.entity.Teacher;
+import com.langheng.modules.join.fixture.entity.UserClass;
+import com.langheng.modules.join.fixture.entity.UserClassVo;
+import com.langheng.modules.join.fixture.mapper.UserClassMapper;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/19 6:30 下午
+ * @description {@link AbstractJoinWrapper#eliminateJoin(boolean)} 测试：去掉没有引用的主键左连接，
+ * 被引用的连表及其上级连表保留，不是按主键连接的左连接保留，查询结果与不去掉时一致
+ */
+class JoinEliminationTest {
+
+    private static SqlSessionFactory sqlSessionFactory;
+
+    @BeforeAll
+    static void setUp() throws SQLException {
+        sqlSessionFactory = TestDatabase.start();
+    }
+
+    @Test
+    void eliminatesUnreferencedPrimaryKeyJoins() {
+        LambdaJoinWrapper<UserClass> wrapper = newUserClassWrapper(true);
+        List<String> rows = this.selectRows(wrapper);
+        assertEquals("", wrapper.getJoinPart());
+        assertEquals(rows, this.selectRows(newUserClassWrapper(false)));
+        assertEquals(5, rows.size());
+    }
+
+    @Test
+    void keepsReferencedJoinChain() {
+        LambdaJoinWrapper<UserClass> wrapper = newUserClassWrapper(true)
+                .joinTo(Teacher.class).eq(Teacher::getTeacherName, "王老师").main(UserClass.class);
+        List<String> rows = this.selectRows(wrapper);
+        //教师表有条件，连接教师表的班级表也要保留
+        String joinPart = wrapper.getJoinPart();
+        assertTrue(joinPart.contains("class_info"), joinPart);
+        assertTrue(joinPart.contains("teacher"), joinPart);
+        assertEquals(rows, this.selectRows(newUserClassWrapper(false)
+                .joinTo(Teacher.class).eq(Teacher::getTeacherName, "王老师").main(UserClass.class)));
+        assertEquals(4, rows.size());
+    }
+
+    @Test
+    void keepsNonPrimaryKeyJoin() {
+        //成绩表不是按主键连接，一对多会改变行数，没有引用也保留
+        LambdaJoinWrapper<UserClass> wrapper = new LambdaJoinWrapper<>(UserClass.class, UserClassVo.class)
+                .leftJoin(Score.class, UserClass::getStudentId, Score::getStudentId)
+                .eliminateJoin(true);
+        List<String> rows = this.selectRows(wrapper);
+        assertTrue(wrapper.getJoinPart().contains("score"), wrapper.getJoinPart());
+        assertEquals(8, rows.size());
+    }
+
+    @Test
+    void joinsAreKeptByDefault() {
+        LambdaJoinWrapper<UserClass> wrapper = newUserClassWrapper(false);
+        this.selectRows(wrapper);
+        assertFalse(wrapper.getJoinPart().isEmpty());
+    }
+
+    /**
+     * 选课表按主键连接班级表，班级表按主键连接教师表
+     */
+    private static LambdaJoinWrapper<UserClass> newUserClassWrapper(boolean eliminateJoin) {
+        return new LambdaJoinWrapper<>(UserClass.class, UserClassVo.class)
+                .leftJoin(ClassInfo.class, UserClass::getClassInfoId, ClassInfo::getClassInfoId)
+                .joinTo(ClassInfo.class)
+                .leftJoin(Teacher.class, ClassInfo::getTeacherId, Teacher::getTeacherId)
+                .main(UserClass.class)
+                .eliminateJoin(eliminateJoin);
+    }
+
+    /**
+     * 查询并按 选课id:学生id:班级id 排序
+     *
+     * @param wrapper 查询条件
+     * @return 排序后的行
+     */
+    private List<String> selectRows(LambdaJoinWrapper<UserClass> wrapper) {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            return sqlSession.getMapper(UserClassMapper.class).findVoList(wrapper).stream()
+                    .map(vo -> vo.getUserClassId() + ":" + vo.getStudentId() + ":" + vo.getClassInfoId())
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.langheng.modules.join.wrapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.baomidou.mybatisplus.core.exceptions.MybatisPlusException;
+import com.langheng.modules.join.fixture.TestDatabase;
+import com.langheng.modules.join.fixture.entity.ClassInfo;
+import com.langheng.modules.join.fixture.entity.Student;
+import com.langheng.modules.join.fixture.entity.StudentClassVo;
+import com.langheng.modules.join.fixture.entity.StudentVo;
+import com.langheng.modules.join.fixture.entity.UserClass;
+import com.langheng.modules.join.fixture.mapper.StudentMapper;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/19 4:00 下午
+ * @description {@link LambdaJoinWrapper#seek} 测试：按续页令牌翻页，可能为NULL或属性名重复的排序字段直接拒绝
+ */
+class LambdaJoinWrapperSeekTest {
+
+    private static SqlSessionFactory sqlSessionFactory;
+
+    @BeforeAll
+    static void setUp() throws SQLException {
+        sqlSessionFactory = TestDatabase.start();
+    }
+
+    @Test
+    void seekPagesByMainTableKey() {
+        LambdaJoinWrapper<Student> wrapper = new LambdaJoinWrapper<>(Student.class, StudentVo.class)
+                .seek(null, 2, true, Student::getAge);
+        List<StudentVo> first = this.selectVoList(wrapper);
+        assertEquals(Arrays.asList("张三", "李四"), first.stream().map(StudentVo::getName).collect(Collectors.toList()));
+
+        String token = wrapper.getContinuationToken(first.get(first.size() - 1));
+        wrapper = new LambdaJoinWrapper<>(Student.class, StudentVo.class).seek(token, 2, true, Student::getAge);
+        List<StudentVo> second = this.selectVoList(wrapper);
+        assertEquals(Arrays.asList("王五", "赵六"), second.stream().map(StudentVo::getName).collect(Collectors.toList()));
+
+        token = wrapper.getContinuationToken(second.get(second.size() - 1));
+        wrapper = new LambdaJoinWrapper<>(Student.class, StudentVo.class).seek(token, 2, true, Student::getAge);
+        assertEquals(Collections.emptyList(), this.selectVoList(wrapper));
+    }
+
+    @Test
+    void seekPagesByInnerJoinedKey() {
+        LambdaJoinWrapper<Student> wrapper = newClassWrapper().seek(null, 2, false, UserClass::getUserClassId);
+        List<StudentClassVo> first = this.selectClassVoList(wrapper);
+        assertEquals(Arrays.asList(4L, 3L), first.stream().map(StudentClassVo::getUserClassId).collect(Collectors.toList()));
+
+        String token = wrapper.getContinuationToken(first.get(first.size() - 1));
+        wrapper = newClassWrapper().seek(token, 2, false, UserClass::getUserClassId);
+        List<StudentClassVo> second = this.selectClassVoList(wrapper);
+        assertEquals(Arrays.asList(2L, 1L), second.stream().map(StudentClassVo::getUserClassId).collect(Collectors.toList()));
+        assertEquals(Arrays.asList("张三", "张三"), second.stream().map(StudentClassVo::getName).collect(Collectors.toList()));
+    }
+
+    @Test
+    void rejectsExistingOrderByOrLast() {
+        assertThrows(MybatisPlusException.class, () -> new LambdaJoinWrapper<>(Student.class, StudentVo.class)
+                .orderByAsc(Student::getName).seek(null, 2, true, Student::getAge));
+        assertThrows(MybatisPlusException.class, () -> new LambdaJoinWrapper<>(Student.class, StudentVo.class)
+                .last("LIMIT 1").seek(null, 2, true, Student::getAge));
+    }
+
+    @Test
+    void rejectsOuterJoinedKey() {
+        LambdaJoinWrapper<Student> wrapper = new LambdaJoinWrapper<>(Student.class, StudentClassVo.class)
+                .leftJoin(UserClass.class, Student::getStudentId, UserClass::getStudentId);
+        assertThrows(MybatisPlusException.class, () -> wrapper.seek(null, 2, true, UserClass::getUserClassId));
+    }
+
+    @Test
+    void rejectsDuplicateProperty() {
+        //连表的学生id与自动添加的主表主键属性名相同，续页令牌无法区分
+        assertThrows(MybatisPlusException.class, () -> newClassWrapper().seek(null, 2, true, UserClass::getStudentId));
+    }
+
+    @Test
+    void rejectsNullKeyValue() {
+        LambdaJoinWrapper<Student> wrapper = new LambdaJoinWrapper<>(Student.class, StudentVo.class)
+                .seek(null, 2, true, Student::getAge);
+        StudentVo lastRow = new StudentVo();
+        lastRow.setStudentId(1L);
+        assertThrows(MybatisPlusException.class, () -> wrapper.getContinuationToken(lastRow));
+        assertNull(wrapper.getContinuationToken(null));
+    }
+
+    private static LambdaJoinWrapper<Student> newClassWrapper() {
+        return new LambdaJoinWrapper<>(Student.class, StudentClassVo.class)
+                .innerJoin(UserClass.class, Student::getStudentId, UserClass::getStudentId, Function.identity())
+                .joinTo(UserClass.class)
+                .leftJoin(ClassInfo.class, UserClass::getClassInfoId, ClassInfo::getClassInfoId)
+                .main(Student.class);
+    }
+
+    private List<StudentVo> selectVoList(LambdaJoinWrapper<Student> wrapper) {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            return sqlSession.getMapper(StudentMapper.class).findVoList(wrapper);
+        }
+    }
+
+    private List<StudentClassVo> selectClassVoList(LambdaJoinWrapper<Student> wrapper) {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            return sqlSession.getMapper(StudentMapper.class).findClassVoList(wrapper);
+        }
+    }
+}
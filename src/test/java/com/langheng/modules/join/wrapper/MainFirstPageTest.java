@@ -0,0 +1,81 @@
+package com.langheng.modules.join.wrapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.langheng.modules.join.fixture.TestDatabase;
+import com.langheng.modules.join.fixture.entity.ClassInfo;
+import com.langheng.modules.join.fixture.entity.Student;
+import com.langheng.modules.join.fixture.entity.StudentClassVo;
+import com.langheng.modules.join.fixture.entity.UserClass;
+import com.langheng.modules.join.fixture.mapper.StudentMapper;
+
+/**
+ * @author wuliangyu
+ * @date 2026/10/19 7:00 下午
+ * @description {@link AbstractJoinWrapper#mainFirstPage} 测试：先对主表分页再连表，一对多连表不影响每页的主表行数，
+ * 分页sql按数据库类型使用mybatis-plus的分页方言生成
+ */
+class MainFirstPageTest {
+
+    private static SqlSessionFactory sqlSessionFactory;
+
+    @BeforeAll
+    static void setUp() throws SQLException {
+        sqlSessionFactory = TestDatabase.start();
+    }
+
+    @Test
+    void pagesByMainRows() {
+        LambdaJoinWrapper<Student> wrapper = newClassWrapper().mainFirstPage(1, 2, null);
+        //张三有两条选课，第一页仍然是两个学生
+        assertEquals(Arrays.asList("张三:1", "张三:2", "李四:3"), this.selectRows(wrapper));
+        assertTrue(wrapper.getFromTable().contains("LIMIT 2"), wrapper.getFromTable());
+
+        wrapper = newClassWrapper().mainFirstPage(2, 2, main -> main.ge(Student::getAge, 19));
+        assertEquals(Arrays.asList("赵六:4"), this.selectRows(wrapper));
+        assertTrue(wrapper.getFromTable().contains("LIMIT 2 OFFSET 2"), wrapper.getFromTable());
+    }
+
+    @Test
+    void pagesWithDialectOfDbType() {
+        LambdaJoinWrapper<Student> wrapper = newClassWrapper().mainFirstPage(DbType.SQL_SERVER, 2, 2, null);
+        //第二页为王五、赵六，王五没有选课，被选课表的逻辑删除条件过滤
+        assertEquals(Arrays.asList("赵六:4"), this.selectRows(wrapper));
+        assertTrue(wrapper.getFromTable().contains("OFFSET 2 ROWS FETCH NEXT 2 ROWS ONLY"), wrapper.getFromTable());
+    }
+
+    private static LambdaJoinWrapper<Student> newClassWrapper() {
+        return new LambdaJoinWrapper<>(Student.class, StudentClassVo.class)
+                .leftJoin(UserClass.class, Student::getStudentId, UserClass::getStudentId)
+                .joinTo(UserClass.class)
+                .leftJoin(ClassInfo.class, UserClass::getClassInfoId, ClassInfo::getClassInfoId)
+                .main(Student.class);
+    }
+
+    /**
+     * 查询并按 姓名:选课id 排序，忽略一对多连表行的顺序
+     *
+     * @param wrapper 查询条件
+     * @return 查询的行
+     */
+    private List<String> selectRows(LambdaJoinWrapper<Student> wrapper) {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            return sqlSession.getMapper(StudentMapper.class).findClassVoList(wrapper).stream()
+                    .map(vo -> vo.getName() + ":" + vo.getUserClassId())
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+}